@@ -0,0 +1,99 @@
+package com.krook1024.game.board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the throughput of stepping pieces and checking for a solution scales with
+ * the size of the board. Boards other than the standard one are covered with 2x2 pieces
+ * on a grid of 3 cells, so the number of pieces grows with the area of the board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    private static final int WALK_LENGTH = 4096;
+
+    private static final String SYMBOLS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    @Param({"standard", "8", "12", "16"})
+    private String size;
+
+    private Board board;
+
+    private final int[] walkPieces = new int[WALK_LENGTH];
+
+    private final int[] walkDirections = new int[WALK_LENGTH];
+
+    static BoardDefinition grid(int size) {
+        char[][] rows = new char[size][size];
+        for (char[] row : rows) {
+            Arrays.fill(row, '.');
+        }
+        int piece = 0;
+        for (int y = 0; y + 1 < size; y += 3) {
+            for (int x = 0; x + 1 < size; x += 3) {
+                char symbol = SYMBOLS.charAt(piece++);
+                rows[y][x] = rows[y][x + 1] = rows[y + 1][x] = rows[y + 1][x + 1] = symbol;
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        for (char[] row : rows) {
+            lines.add(new String(row));
+        }
+        return BoardDefinition.parse(lines);
+    }
+
+    @Setup
+    public void setUp() {
+        BoardDefinition definition = "standard".equals(size) ? BoardDefinition.standard() : grid(Integer.parseInt(size));
+        board = new Board(new BoardGeometry(definition));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            walkPieces[i] = random.nextInt(definition.getPieces().size());
+            walkDirections[i] = random.nextInt(BoardGeometry.DIRECTIONS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public void randomWalk(Blackhole blackhole) {
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            blackhole.consume(board.move(walkPieces[i], walkDirections[i]));
+            blackhole.consume(board.isSolved());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public void canMove(Blackhole blackhole) {
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            blackhole.consume(board.canMove(walkPieces[i], walkDirections[i]));
+        }
+    }
+
+    @Benchmark
+    public Board copy() {
+        return new Board(board);
+    }
+}
@@ -0,0 +1,121 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameResultDao#findBest(Difficulty, int)} and
+ * {@link GameResultDao#findBestSummaries(Difficulty, int)} on an in-memory H2 database filled
+ * with random results, with and without {@link GameResult#BEST_INDEX}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindBestBenchmark {
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private static final String URL = "jdbc:h2:mem:find-best;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private GameResultDao gameResultDao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        entityManagerFactory = Persistence.createEntityManagerFactory("slidergame", Map.of(
+                "javax.persistence.jdbc.url", URL,
+                "javax.persistence.schema-generation.database.action", "drop-and-create",
+                "javax.persistence.schema-generation.scripts.action", "none",
+                "hibernate.show_sql", "false"));
+        entityManager = entityManagerFactory.createEntityManager();
+        gameResultDao = new GameResultDao();
+        gameResultDao.setEntityManagerProvider(() -> entityManager);
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            connection.setAutoCommit(false);
+            SplittableRandom random = new SplittableRandom(42);
+            long now = System.currentTimeMillis();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO GameResult (id, player, difficulty, solved, steps, duration, created) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "player" + random.nextInt(1000));
+                    insert.setString(3, DIFFICULTIES[random.nextInt(DIFFICULTIES.length)].name());
+                    insert.setBoolean(4, random.nextInt(4) == 0);
+                    insert.setInt(5, 2 + random.nextInt(200));
+                    insert.setLong(6, TimeUnit.SECONDS.toNanos(5 + random.nextInt(3600)));
+                    insert.setTimestamp(7, new Timestamp(now - random.nextInt(1_000_000_000)));
+                    insert.addBatch();
+                    if (i % 10_000 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            if (!indexed) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP INDEX " + GameResult.BEST_INDEX);
+                }
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<GameResult> findBest() {
+        List<GameResult> results = gameResultDao.findBest(Difficulty.CLASSIC, 10);
+        entityManager.clear();
+        return results;
+    }
+
+    @Benchmark
+    public List<GameResultSummary> findBestSummaries() {
+        return gameResultDao.findBestSummaries(Difficulty.CLASSIC, 10);
+    }
+}
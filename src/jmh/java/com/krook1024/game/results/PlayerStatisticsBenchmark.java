@@ -0,0 +1,108 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.jpa.JpaPersistModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the statistics of a player from the summary table maintained by
+ * {@link PlayerStatisticsService} with aggregating the player's results with GROUP BY,
+ * on an in-memory H2 database filled with random results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerStatisticsBenchmark {
+    private static final String URL = "jdbc:h2:mem:player-statistics;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int players;
+
+    private PersistService persistService;
+
+    private PlayerStatisticsService playerStatisticsService;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Injector injector = Guice.createInjector(new JpaPersistModule("slidergame").properties(Map.of(
+                "javax.persistence.jdbc.url", URL,
+                "javax.persistence.schema-generation.database.action", "drop-and-create",
+                "javax.persistence.schema-generation.scripts.action", "none",
+                "hibernate.show_sql", "false")));
+        persistService = injector.getInstance(PersistService.class);
+        persistService.start();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            connection.setAutoCommit(false);
+            SplittableRandom random = new SplittableRandom(42);
+            long now = System.currentTimeMillis();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO GameResult (id, player, solved, steps, duration, created) VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "player" + random.nextInt(players));
+                    insert.setBoolean(3, random.nextInt(4) == 0);
+                    insert.setInt(4, 2 + random.nextInt(200));
+                    insert.setLong(5, TimeUnit.SECONDS.toNanos(5 + random.nextInt(3600)));
+                    insert.setTimestamp(6, new Timestamp(now - random.nextInt(1_000_000_000)));
+                    insert.addBatch();
+                    if (i % 10_000 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+
+        playerStatisticsService = injector.getInstance(PlayerStatisticsService.class);
+        playerStatisticsService.rebuild();
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        persistService.stop();
+    }
+
+    @Benchmark
+    public PlayerStatistics find() {
+        return playerStatisticsService.find("player" + random.nextInt(players)).orElseThrow();
+    }
+
+    @Benchmark
+    public PlayerStatistics aggregate() {
+        return playerStatisticsService.aggregate("player" + random.nextInt(players));
+    }
+}
@@ -0,0 +1,172 @@
+package com.krook1024.game.state;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the hot paths of {@link SliderState}: stepping tiles, looking up cells,
+ * checking for a solution and rendering the board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SliderStateBenchmark {
+    private static final int WALK_LENGTH = 4096;
+
+    private SliderState state;
+
+    private SliderState solved;
+
+    private LegacyScan legacy;
+
+    private Bitboard bitboard;
+
+    private final int[] walkTiles = new int[WALK_LENGTH];
+
+    private final Direction[] walkDirections = new Direction[WALK_LENGTH];
+
+    private boolean up;
+
+    /**
+     * The lookups {@link SliderState} made before it indexed the cells of the board,
+     * kept as the baseline of {@link #legacyRandomWalk()}.
+     */
+    static class LegacyScan {
+        private final List<Tile> tiles;
+
+        LegacyScan(List<Tile> tiles) {
+            this.tiles = tiles;
+        }
+
+        int findTileIndexAtPoint(int x, int y) {
+            for (int i = 0; i < tiles.size(); i++) {
+                Tile tile = tiles.get(i);
+                if (tile.getTopLeft().getX() == x && tile.getTopLeft().getY() == y
+                        || tile.getTopRight().getX() == x && tile.getTopRight().getY() == y
+                        || tile.getBotLeft().getX() == x && tile.getBotLeft().getY() == y
+                        || tile.getBotRight().getX() == x && tile.getBotRight().getY() == y) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean isEmptySpace(int x, int y, int exclude) {
+            List<Tile> tilesAtPoint = tiles
+                    .stream()
+                    .filter(tile -> findTileIndexAtPoint(x, y) != -1 && findTileIndexAtPoint(x, y) != exclude)
+                    .collect(Collectors.toList());
+            return tilesAtPoint.size() == 0;
+        }
+
+        void stepTileWithIndex(int index, Direction direction, Axis axis) {
+            Tile t = tiles.get(index);
+            int dx = axis == Axis.X ? direction.getValue() : 0;
+            int dy = axis == Axis.Y ? direction.getValue() : 0;
+            if (isEmptySpace(t.getTopLeft().getX() + dx, t.getTopLeft().getY() + dy, index)
+                    && isEmptySpace(t.getTopRight().getX() + dx, t.getTopRight().getY() + dy, index)
+                    && isEmptySpace(t.getBotLeft().getX() + dx, t.getBotLeft().getY() + dy, index)
+                    && isEmptySpace(t.getBotRight().getX() + dx, t.getBotRight().getY() + dy, index)) {
+                t.step(direction, axis);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpWalk() {
+        Random random = new Random(42);
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            walkTiles[i] = random.nextInt(SliderState.INITIAL.size());
+            walkDirections[i] = Move.DIRECTIONS.get(random.nextInt(Move.DIRECTIONS.size()));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpState() {
+        state = new SliderState(SliderState.INITIAL);
+        solved = new SliderState(SliderState.NEAR_WIN);
+        solved.stepTileWithIndex(1, Direction.LEFT, Axis.X);
+        solved.stepTileWithIndex(1, Direction.LEFT, Axis.X);
+        legacy = new LegacyScan(new SliderState(SliderState.INITIAL).getTiles());
+        bitboard = Bitboard.of(SliderState.INITIAL);
+        up = true;
+    }
+
+    @Benchmark
+    public SliderState singleStep() {
+        state.stepTileWithIndex(4, up ? Direction.UP : Direction.DOWN, Axis.Y);
+        up = !up;
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public SliderState randomWalk() {
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            state.stepTileWithIndex(walkTiles[i], walkDirections[i], Move.axisOf(walkDirections[i]));
+        }
+        return state;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public LegacyScan legacyRandomWalk() {
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            legacy.stepTileWithIndex(walkTiles[i], walkDirections[i], Move.axisOf(walkDirections[i]));
+        }
+        return legacy;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public Bitboard bitboardRandomWalk() {
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            bitboard.stepTileWithIndex(walkTiles[i], walkDirections[i], Move.axisOf(walkDirections[i]));
+        }
+        return bitboard;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Bitboard.CELLS)
+    public void findTileIndexAtPoint(Blackhole blackhole) {
+        for (int y = 0; y < Bitboard.HEIGHT; y++) {
+            for (int x = 0; x < Bitboard.WIDTH; x++) {
+                blackhole.consume(state.findTileIndexAtPoint(x, y));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isSolvedUnsolved() {
+        return state.isSolved();
+    }
+
+    @Benchmark
+    public boolean isSolvedSolved() {
+        return solved.isSolved();
+    }
+
+    @Benchmark
+    public String render() {
+        return state.toString();
+    }
+}
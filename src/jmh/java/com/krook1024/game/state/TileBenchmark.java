@@ -0,0 +1,60 @@
+package com.krook1024.game.state;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures stepping and validating a single {@link Tile}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TileBenchmark {
+    private Tile tile;
+
+    private Point topLeft;
+
+    private Point topRight;
+
+    private Point botLeft;
+
+    private Point botRight;
+
+    private boolean right;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tile = new Tile(TileType.TYPE1, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(0, 1));
+        topLeft = new Point(2, 2);
+        topRight = new Point(2, 2);
+        botLeft = new Point(1, 3);
+        botRight = new Point(2, 3);
+        right = true;
+    }
+
+    @Benchmark
+    public Tile step() {
+        tile.step(right ? Direction.RIGHT : Direction.LEFT, Axis.X);
+        right = !right;
+        return tile;
+    }
+
+    @Benchmark
+    public boolean isValidTile() {
+        return Tile.isValidTile(TileType.TYPE4, topLeft, topRight, botLeft, botRight);
+    }
+}
@@ -0,0 +1,113 @@
+package com.krook1024.game.util.guice;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.results.GameResult;
+import com.krook1024.game.results.GameResultDao;
+import com.krook1024.game.session.Difficulty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the persistence unit configured by {@link PersistenceModule} with the plain one:
+ * the time to start the persistence service, and the throughput of inserting results.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    private static final int RESULTS = 1_000;
+
+    /**
+     * Whether the connections are pooled by HikariCP, or opened by Hibernate's built-in pool.
+     */
+    @Param({"true", "false"})
+    private boolean pooled;
+
+    /**
+     * Whether inserts are sent in ordered JDBC batches.
+     */
+    @Param({"true", "false"})
+    private boolean batched;
+
+    private Injector injector;
+
+    private GameResultDao gameResultDao;
+
+    private Map<String, String> properties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:persistence-benchmark;DB_CLOSE_DELAY=-1");
+        properties.put("javax.persistence.schema-generation.database.action", "drop-and-create");
+        properties.put("javax.persistence.schema-generation.scripts.action", "none");
+        properties.put("hibernate.show_sql", "false");
+        if (!pooled) {
+            properties.put("hibernate.connection.provider_class",
+                    "org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl");
+        }
+        if (!batched) {
+            properties.put("hibernate.jdbc.batch_size", "1");
+            properties.put("hibernate.order_inserts", "false");
+        }
+        return properties;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        injector = Guice.createInjector(new PersistenceModule("slidergame", properties()));
+        gameResultDao = injector.getInstance(GameResultDao.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        injector.getInstance(PersistService.class).stop();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void startup() {
+        Injector started = Guice.createInjector(new PersistenceModule("slidergame", properties()));
+        started.getInstance(GameResultDao.class).findBest(Difficulty.CLASSIC, 1);
+        started.getInstance(PersistService.class).stop();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @OperationsPerInvocation(RESULTS)
+    public void insert() {
+        List<GameResult> results = new ArrayList<>(RESULTS);
+        for (int i = 0; i < RESULTS; i++) {
+            results.add(GameResult.builder()
+                    .player("player" + i % 100)
+                    .solved(i % 4 == 0)
+                    .steps(i)
+                    .duration(Duration.ofSeconds(i))
+                    .build());
+        }
+        gameResultDao.persistAll(results);
+    }
+}
@@ -0,0 +1,225 @@
+package com.krook1024.game.board;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the position of the pieces on a board of a {@link BoardGeometry}.
+ *
+ * <p>The position is the anchor of every piece and the occupancy of the board as a bitset
+ * of {@link BoardGeometry#getWords()} {@code long}s, cell {@code c} being bit {@code c % 64}
+ * of word {@code c / 64}. A step tests and flips only the cells at the leading and trailing
+ * edge of the piece, and checking for a solution tests the cells around the target piece,
+ * so neither depends on the size of the board.</p>
+ */
+public final class Board {
+    private final BoardGeometry geometry;
+
+    private final int[] anchors;
+
+    private final long[] occupancy;
+
+    /**
+     * Initializes a board with the pieces at the start of its definition.
+     *
+     * @param geometry the geometry of the board
+     */
+    public Board(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.anchors = new int[geometry.pieces()];
+        this.occupancy = new long[geometry.getWords()];
+        for (int i = 0; i < anchors.length; i++) {
+            PieceDefinition piece = geometry.getDefinition().getPieces().get(i);
+            anchors[i] = geometry.cellOf(piece.getStartX(), piece.getStartY());
+        }
+        index();
+    }
+
+    /**
+     * Initializes a board with the same position as another one.
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        this.geometry = other.geometry;
+        this.anchors = other.anchors.clone();
+        this.occupancy = other.occupancy.clone();
+    }
+
+    private void index() {
+        Arrays.fill(occupancy, 0);
+        for (int i = 0; i < anchors.length; i++) {
+            for (int offset : geometry.shape(i)) {
+                set(anchors[i] + offset);
+            }
+        }
+    }
+
+    private void set(int cell) {
+        occupancy[cell >>> 6] |= 1L << cell;
+    }
+
+    private void clear(int cell) {
+        occupancy[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /**
+     * Returns the geometry of the board.
+     *
+     * @return the geometry
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the anchor of a piece, the top left cell of its bounding box.
+     *
+     * @param piece the index of the piece
+     * @return the anchor of the piece
+     */
+    public int getAnchor(int piece) {
+        return anchors[piece];
+    }
+
+    /**
+     * Tells whether a cell is covered by a piece.
+     *
+     * @param cell the index of the cell
+     * @return whether the cell is occupied
+     */
+    public boolean isOccupied(int cell) {
+        return (occupancy[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Tells whether a piece can step in a direction.
+     *
+     * @param piece the index of the piece
+     * @param direction the index of the direction
+     * @return whether the piece can step
+     */
+    public boolean canMove(int piece, int direction) {
+        int anchor = anchors[piece];
+        if (geometry.next(piece, anchor, direction) == -1) {
+            return false;
+        }
+        for (int offset : geometry.leading(piece, direction)) {
+            if (isOccupied(anchor + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Steps a piece in a direction if it can move there.
+     *
+     * @param piece the index of the piece
+     * @param direction the index of the direction
+     * @return whether the piece has moved
+     */
+    public boolean move(int piece, int direction) {
+        if (!canMove(piece, direction)) {
+            return false;
+        }
+        int anchor = anchors[piece];
+        for (int offset : geometry.trailing(piece, direction)) {
+            clear(anchor + offset);
+        }
+        for (int offset : geometry.leading(piece, direction)) {
+            set(anchor + offset);
+        }
+        anchors[piece] = geometry.next(piece, anchor, direction);
+        return true;
+    }
+
+    /**
+     * Tells whether the puzzle is solved, that is, whether every cell around the target piece is occupied.
+     *
+     * @return whether the puzzle is solved
+     */
+    public boolean isSolved() {
+        int anchor = anchors[geometry.getTarget()];
+        if (!geometry.isSolvable(anchor)) {
+            return false;
+        }
+        for (int offset : geometry.around()) {
+            if (!isOccupied(anchor + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs the anchors of the pieces into a single key, {@link BoardGeometry#getAnchorBits()} bits each.
+     *
+     * @return the packed key
+     * @throws IllegalStateException if the anchors do not fit in a {@code long}
+     */
+    public long pack() {
+        if (!geometry.isPackable()) {
+            throw new IllegalStateException("The position of " + anchors.length + " pieces does not fit in a key");
+        }
+        long key = 0;
+        int bits = geometry.getAnchorBits();
+        for (int i = anchors.length - 1; i >= 0; i--) {
+            key = key << bits | anchors[i];
+        }
+        return key;
+    }
+
+    /**
+     * Moves the pieces to the position encoded in a key returned by {@link #pack()}.
+     *
+     * @param key the packed key
+     */
+    public void unpack(long key) {
+        int bits = geometry.getAnchorBits();
+        long mask = (1L << bits) - 1;
+        for (int i = 0; i < anchors.length; i++) {
+            anchors[i] = (int) (key & mask);
+            key >>>= bits;
+        }
+        index();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Board)) {
+            return false;
+        }
+        Board other = (Board) o;
+        return geometry == other.geometry && Arrays.equals(anchors, other.anchors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(anchors);
+    }
+
+    /**
+     * Draws the board in the format of the definitions.
+     *
+     * @return the rows of the board, one per line
+     */
+    @Override
+    public String toString() {
+        char[] cells = new char[geometry.getCells()];
+        Arrays.fill(cells, '.');
+        for (int i = 0; i < anchors.length; i++) {
+            char symbol = geometry.getDefinition().getPieces().get(i).getSymbol();
+            for (int offset : geometry.shape(i)) {
+                cells[anchors[i] + offset] = symbol;
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < geometry.getHeight(); y++) {
+            sb.append(cells, y * geometry.getWidth(), geometry.getWidth()).append('\n');
+        }
+        return sb.toString();
+    }
+}
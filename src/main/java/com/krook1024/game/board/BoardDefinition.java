@@ -0,0 +1,183 @@
+package com.krook1024.game.board;
+
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * This class represents the size of a board and the pieces on it.
+ *
+ * <p>Definitions are read from text resources that draw the board row by row. A {@code .}
+ * is an empty cell, and any other character is a cell of the piece it names. Pieces are
+ * indexed in the order of their names, and the {@code target=} line names the piece that has
+ * to be surrounded for the puzzle to be solved, which is the last one if it is missing.
+ * Blank lines and lines starting with {@code #} are ignored.</p>
+ */
+@Value
+public class BoardDefinition {
+    /**
+     * The maximum width and height of a board.
+     */
+    public static final int MAX_SIZE = 16;
+
+    /**
+     * The resource of the board of the game.
+     */
+    public static final String STANDARD = "/boards/standard.board";
+
+    private static final char EMPTY = '.';
+
+    private static final String TARGET = "target=";
+
+    /**
+     * The width of the board.
+     */
+    int width;
+
+    /**
+     * The height of the board.
+     */
+    int height;
+
+    /**
+     * The pieces on the board, in the order of their symbols.
+     */
+    List<PieceDefinition> pieces;
+
+    /**
+     * The index of the piece that has to be surrounded for the puzzle to be solved.
+     */
+    int target;
+
+    /**
+     * Returns the definition of the board of the game.
+     *
+     * @return the standard board
+     */
+    public static BoardDefinition standard() {
+        return load(STANDARD);
+    }
+
+    /**
+     * Reads a definition from a resource.
+     *
+     * @param resourceName the path of the resource
+     * @return the definition
+     * @throws IllegalArgumentException if the resource does not exist or is not a valid definition
+     */
+    public static BoardDefinition load(String resourceName) {
+        InputStream in = BoardDefinition.class.getResourceAsStream(resourceName);
+        if (in == null) {
+            throw new IllegalArgumentException("No board " + resourceName);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return parse(reader.lines().collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read board " + resourceName, e);
+        }
+    }
+
+    /**
+     * Parses a definition.
+     *
+     * @param lines the lines of the definition
+     * @return the definition
+     * @throws IllegalArgumentException if the lines are not a valid definition
+     */
+    public static BoardDefinition parse(List<String> lines) {
+        List<String> rows = new ArrayList<>();
+        Character target = null;
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.startsWith(TARGET)) {
+                if (trimmed.length() != TARGET.length() + 1) {
+                    throw new IllegalArgumentException("Invalid target: " + trimmed);
+                }
+                target = trimmed.charAt(TARGET.length());
+                continue;
+            }
+            if (!rows.isEmpty() && trimmed.length() != rows.get(0).length()) {
+                throw new IllegalArgumentException("Row " + rows.size() + " is not as wide as the first one");
+            }
+            rows.add(trimmed);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("The board has no rows");
+        }
+        int width = rows.get(0).length();
+        int height = rows.size();
+        if (width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("The board is larger than " + MAX_SIZE + "x" + MAX_SIZE);
+        }
+
+        Map<Character, List<int[]>> cells = new TreeMap<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                char c = rows.get(y).charAt(x);
+                if (c != EMPTY) {
+                    cells.computeIfAbsent(c, symbol -> new ArrayList<>()).add(new int[]{x, y});
+                }
+            }
+        }
+        if (cells.isEmpty()) {
+            throw new IllegalArgumentException("The board has no pieces");
+        }
+        List<PieceDefinition> pieces = new ArrayList<>();
+        for (Map.Entry<Character, List<int[]>> entry : cells.entrySet()) {
+            pieces.add(piece(entry.getKey(), entry.getValue()));
+        }
+        int targetIndex = pieces.size() - 1;
+        if (target != null) {
+            targetIndex = new ArrayList<>(cells.keySet()).indexOf(target);
+            if (targetIndex == -1) {
+                throw new IllegalArgumentException("No target piece " + target);
+            }
+        }
+        return new BoardDefinition(width, height, List.copyOf(pieces), targetIndex);
+    }
+
+    private static PieceDefinition piece(char symbol, List<int[]> cells) {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = 0;
+        int maxY = 0;
+        for (int[] cell : cells) {
+            minX = Math.min(minX, cell[0]);
+            minY = Math.min(minY, cell[1]);
+            maxX = Math.max(maxX, cell[0]);
+            maxY = Math.max(maxY, cell[1]);
+        }
+        int boxWidth = maxX - minX + 1;
+        int boxHeight = maxY - minY + 1;
+        if (boxWidth * boxHeight > Long.SIZE) {
+            throw new IllegalArgumentException("Piece " + symbol + " does not fit in 64 cells");
+        }
+        long shape = 0;
+        for (int[] cell : cells) {
+            shape |= 1L << ((cell[1] - minY) * boxWidth + cell[0] - minX);
+        }
+        return new PieceDefinition(symbol, boxWidth, boxHeight, shape, minX, minY);
+    }
+
+    /**
+     * Returns the number of cells on the board.
+     *
+     * @return the number of cells
+     */
+    public int cells() {
+        return width * height;
+    }
+}
@@ -0,0 +1,308 @@
+package com.krook1024.game.board;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed geometry of the pieces of a {@link BoardDefinition}.
+ *
+ * <p>Cells are numbered {@code y * width + x}, and a piece is placed by its anchor, the top
+ * left cell of its bounding box. A piece keeps its shape as it moves, so the cells it starts
+ * and stops covering in a step are the same offsets from its anchor wherever it is. The
+ * geometry holds those offsets for every piece and direction, the anchor every step leads
+ * to (-1 if the piece would leave the board), and the offsets of the cells around every
+ * piece, so a step or a solution check only touches the cells at the edge of one piece,
+ * however large the board is. Directions are indexed in the order of
+ * {@link com.krook1024.game.state.Move#DIRECTIONS}. The tables of
+ * {@link com.krook1024.game.state.TileGeometry} are built from the geometry of the
+ * {@linkplain BoardDefinition#standard() standard board}.</p>
+ */
+public final class BoardGeometry {
+    /**
+     * The number of directions a piece can step in.
+     */
+    public static final int DIRECTIONS = 4;
+
+    private static final int[][] STEPS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    /**
+     * The definition of the board.
+     */
+    @Getter
+    private final BoardDefinition definition;
+
+    /**
+     * The width of the board.
+     */
+    @Getter
+    private final int width;
+
+    /**
+     * The height of the board.
+     */
+    @Getter
+    private final int height;
+
+    /**
+     * The number of cells on the board.
+     */
+    @Getter
+    private final int cells;
+
+    /**
+     * The number of {@code long}s the occupancy of the board takes.
+     */
+    @Getter
+    private final int words;
+
+    /**
+     * The number of bits an anchor takes in a packed key.
+     */
+    @Getter
+    private final int anchorBits;
+
+    private final int pieces;
+
+    private final int target;
+
+    private final int[][] shapeOffsets;
+
+    private final int[][] leadingOffsets;
+
+    private final int[][] trailingOffsets;
+
+    private final int[] next;
+
+    private final boolean[] valid;
+
+    private final int[][] aroundOffsets;
+
+    private final boolean[] solvable;
+
+    /**
+     * Precomputes the geometry of a board.
+     *
+     * @param definition the definition of the board
+     */
+    public BoardGeometry(BoardDefinition definition) {
+        this.definition = definition;
+        this.width = definition.getWidth();
+        this.height = definition.getHeight();
+        this.cells = width * height;
+        this.words = (cells + Long.SIZE - 1) / Long.SIZE;
+        this.anchorBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(cells - 1));
+        this.pieces = definition.getPieces().size();
+        this.target = definition.getTarget();
+        this.shapeOffsets = new int[pieces][];
+        this.leadingOffsets = new int[pieces * DIRECTIONS][];
+        this.trailingOffsets = new int[pieces * DIRECTIONS][];
+        this.next = new int[pieces * cells * DIRECTIONS];
+        this.valid = new boolean[pieces * cells];
+        this.aroundOffsets = new int[pieces][];
+        this.solvable = new boolean[pieces * cells];
+
+        for (int p = 0; p < pieces; p++) {
+            PieceDefinition piece = definition.getPieces().get(p);
+            shapeOffsets[p] = offsets(piece, 0, 0, false);
+            for (int d = 0; d < DIRECTIONS; d++) {
+                leadingOffsets[p * DIRECTIONS + d] = offsets(piece, STEPS[d][0], STEPS[d][1], false);
+                trailingOffsets[p * DIRECTIONS + d] = offsets(piece, STEPS[d][0], STEPS[d][1], true);
+            }
+            aroundOffsets[p] = around(piece);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    valid[p * cells + cellOf(x, y)] = fits(piece, x, y);
+                    solvable[p * cells + cellOf(x, y)] = x >= 1 && y >= 1
+                            && x + piece.getBoxWidth() < width && y + piece.getBoxHeight() < height;
+                    for (int d = 0; d < DIRECTIONS; d++) {
+                        int nx = x + STEPS[d][0];
+                        int ny = y + STEPS[d][1];
+                        boolean fits = fits(piece, x, y) && fits(piece, nx, ny);
+                        next[(p * cells + cellOf(x, y)) * DIRECTIONS + d] = fits ? cellOf(nx, ny) : -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the offsets from the anchor of the cells next to a piece that it does not cover.
+     */
+    private int[] around(PieceDefinition piece) {
+        List<Integer> around = new ArrayList<>();
+        for (int dy = -1; dy <= piece.getBoxHeight(); dy++) {
+            for (int dx = -1; dx <= piece.getBoxWidth(); dx++) {
+                if (!piece.covers(dx, dy) && (piece.covers(dx - 1, dy) || piece.covers(dx + 1, dy)
+                        || piece.covers(dx, dy - 1) || piece.covers(dx, dy + 1))) {
+                    around.add(dy * width + dx);
+                }
+            }
+        }
+        return around.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private boolean fits(PieceDefinition piece, int x, int y) {
+        return x >= 0 && y >= 0 && x + piece.getBoxWidth() <= width && y + piece.getBoxHeight() <= height;
+    }
+
+    /**
+     * Returns the offsets from the anchor of the cells a piece covers before moving by
+     * {@code (dx, dy)} but not after if {@code trailing} is set, and otherwise of the cells
+     * it covers after the move but not before. A move by {@code (0, 0)} gives the whole shape.
+     */
+    private int[] offsets(PieceDefinition piece, int dx, int dy, boolean trailing) {
+        List<Integer> offsets = new ArrayList<>();
+        for (int y = 0; y < piece.getBoxHeight(); y++) {
+            for (int x = 0; x < piece.getBoxWidth(); x++) {
+                if (!piece.covers(x, y)) {
+                    continue;
+                }
+                if (trailing && !piece.covers(x - dx, y - dy)) {
+                    offsets.add(y * width + x);
+                } else if (!trailing && (dx == 0 && dy == 0 || !piece.covers(x + dx, y + dy))) {
+                    offsets.add((y + dy) * width + x + dx);
+                }
+            }
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the index of a cell on the board.
+     *
+     * @param x the x co-ordinate of the cell
+     * @param y the y co-ordinate of the cell
+     * @return the index of the cell
+     */
+    public int cellOf(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Returns the number of pieces on the board.
+     *
+     * @return the number of pieces
+     */
+    public int pieces() {
+        return pieces;
+    }
+
+    /**
+     * Returns the index of the piece that has to be surrounded for the puzzle to be solved.
+     *
+     * @return the index of the target piece
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Tells whether a piece fits on the board at an anchor.
+     *
+     * @param piece the index of the piece
+     * @param anchor the anchor of the piece
+     * @return whether the bounding box of the piece is on the board
+     */
+    public boolean isValidAnchor(int piece, int anchor) {
+        return valid[piece * cells + anchor];
+    }
+
+    /**
+     * Returns the anchor a piece moves to in a step.
+     *
+     * @param piece the index of the piece
+     * @param anchor the anchor of the piece
+     * @param direction the index of the direction
+     * @return the anchor after the step, or -1 if the piece would leave the board
+     */
+    public int next(int piece, int anchor, int direction) {
+        return next[(piece * cells + anchor) * DIRECTIONS + direction];
+    }
+
+    /**
+     * Returns the offsets from its anchor of the cells a piece covers.
+     *
+     * @param piece the index of the piece
+     * @return the offsets of the cells of the piece
+     */
+    public int[] shape(int piece) {
+        return shapeOffsets[piece];
+    }
+
+    /**
+     * Returns the offsets from its anchor before the step of the cells a piece starts to cover in a step.
+     *
+     * @param piece the index of the piece
+     * @param direction the index of the direction
+     * @return the offsets of the cells that have to be empty for the step
+     */
+    public int[] leading(int piece, int direction) {
+        return leadingOffsets[piece * DIRECTIONS + direction];
+    }
+
+    /**
+     * Returns the offsets from its anchor before the step of the cells a piece stops covering in a step.
+     *
+     * @param piece the index of the piece
+     * @param direction the index of the direction
+     * @return the offsets of the cells that are emptied by the step
+     */
+    public int[] trailing(int piece, int direction) {
+        return trailingOffsets[piece * DIRECTIONS + direction];
+    }
+
+    /**
+     * Tells whether the target piece can be surrounded at an anchor, that is, whether it
+     * does not touch the edge of the board.
+     *
+     * @param anchor the anchor of the target piece
+     * @return whether the puzzle can be solved with the target piece at {@code anchor}
+     */
+    public boolean isSolvable(int anchor) {
+        return isSolvable(target, anchor);
+    }
+
+    /**
+     * Tells whether a piece can be surrounded at an anchor, that is, whether it does not
+     * touch the edge of the board.
+     *
+     * @param piece the index of the piece
+     * @param anchor the anchor of the piece
+     * @return whether the piece can be surrounded at {@code anchor}
+     */
+    public boolean isSolvable(int piece, int anchor) {
+        return solvable[piece * cells + anchor];
+    }
+
+    /**
+     * Returns the offsets from its anchor of the cells around the target piece, which have
+     * to be occupied for the puzzle to be solved.
+     *
+     * @return the offsets of the cells around the target piece
+     */
+    public int[] around() {
+        return around(target);
+    }
+
+    /**
+     * Returns the offsets from its anchor of the cells around a piece, the cells next to
+     * it that it does not cover.
+     *
+     * @param piece the index of the piece
+     * @return the offsets of the cells around the piece
+     */
+    public int[] around(int piece) {
+        return aroundOffsets[piece];
+    }
+
+    /**
+     * Tells whether the anchors of all pieces fit in a single {@code long} key.
+     *
+     * @return whether positions can be packed
+     */
+    public boolean isPackable() {
+        return pieces * anchorBits <= Long.SIZE;
+    }
+}
@@ -0,0 +1,62 @@
+package com.krook1024.game.board;
+
+import lombok.Value;
+
+/**
+ * This class represents a piece of a {@link BoardDefinition}.
+ *
+ * <p>The shape of the piece is a mask over its bounding box, cell {@code (dx, dy)} of the
+ * box being bit {@code dy * boxWidth + dx}, so a bounding box can hold at most 64 cells.</p>
+ */
+@Value
+public class PieceDefinition {
+    /**
+     * The character the piece is drawn with.
+     */
+    char symbol;
+
+    /**
+     * The width of the bounding box of the piece.
+     */
+    int boxWidth;
+
+    /**
+     * The height of the bounding box of the piece.
+     */
+    int boxHeight;
+
+    /**
+     * The cells of the bounding box covered by the piece.
+     */
+    long shape;
+
+    /**
+     * The x co-ordinate of the top left cell of the bounding box at the start.
+     */
+    int startX;
+
+    /**
+     * The y co-ordinate of the top left cell of the bounding box at the start.
+     */
+    int startY;
+
+    /**
+     * Tells whether the piece covers a cell of its bounding box.
+     *
+     * @param dx the x co-ordinate of the cell within the box
+     * @param dy the y co-ordinate of the cell within the box
+     * @return whether the cell is covered
+     */
+    public boolean covers(int dx, int dy) {
+        return dx >= 0 && dx < boxWidth && dy >= 0 && dy < boxHeight && (shape & (1L << (dy * boxWidth + dx))) != 0;
+    }
+
+    /**
+     * Returns the number of cells the piece covers.
+     *
+     * @return the size of the piece
+     */
+    public int size() {
+        return Long.bitCount(shape);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Provides boards of any size up to 16x16, defined by resources, and their bitboard engine.
+ * The {@linkplain com.krook1024.game.board.BoardDefinition#standard() standard board} also
+ * defines the tiles and the tables of the engine of the game in {@link com.krook1024.game.state}.
+ */
+package com.krook1024.game.board;
@@ -2,16 +2,13 @@ package com.krook1024.game.controller;
 
 import com.krook1024.game.results.GameResultDao;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
-import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Acts as a base class for every other controller.
@@ -23,7 +20,7 @@ import java.io.IOException;
 @Slf4j
 public class BaseController {
     @Inject
-    FXMLLoader fxmlLoader;
+    SceneRegistry sceneRegistry;
 
     @Inject
     GameResultDao gameResultDao;
@@ -47,13 +44,16 @@ public class BaseController {
     protected void changeSceneTo(Stage stage, String resourceName) {
         log.info("Changing scene to: {}", resourceName);
         try {
-            fxmlLoader.setLocation(getClass().getResource(resourceName));
-            Parent root = fxmlLoader.load();
-            Scene current = stage.getScene();
-            current.setRoot(root);
-            log.debug("Changed scene to {} on stage {}", root, stage);
-        } catch (IOException e) {
+            sceneRegistry.show(stage, resourceName);
+        } catch (UncheckedIOException e) {
             log.warn("Something is wrong", e);
         }
     }
+
+    /**
+     * Called every time the view of the controller is shown. Views are kept and reused
+     * by the {@link SceneRegistry}, so controllers reset their state here.
+     */
+    protected void onEnter() {
+    }
 }
@@ -0,0 +1,177 @@
+package com.krook1024.game.controller;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.state.Tile;
+import javafx.animation.TranslateTransition;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Draws the tiles of a {@link SliderState} to a {@link GridPane}.
+ *
+ * <p>Every tile has a single {@link ImageView} that is created once per game, with the
+ * index of the tile as its user data. After a step only the constraints of the tile that
+ * has moved are updated, optionally with a short slide, and highlighting a tile only
+ * changes the style of the tiles involved, so the scene graph is not rebuilt on every
+ * move.</p>
+ */
+@Slf4j
+public class BoardRenderer {
+    private static final String HIGHLIGHTED_STYLE = "-fx-opacity: 0.85;";
+
+    private static final String NORMAL_STYLE = "-fx-opacity: 1;";
+
+    private static final Duration SLIDE_DURATION = Duration.millis(80);
+
+    private final GridPane grid;
+
+    private final List<Image> images;
+
+    private final IntConsumer onTileClicked;
+
+    private final List<ImageView> views = new ArrayList<>();
+
+    private final List<TranslateTransition> slides = new ArrayList<>();
+
+    private int highlighted = -1;
+
+    private boolean animated;
+
+    /**
+     * Initializes a renderer.
+     *
+     * @param grid the grid the tiles are drawn to, with a column and a row for each cell of the board
+     * @param images the images of the tile types, in the order of their values
+     * @param onTileClicked called with the index of a tile when it is clicked
+     */
+    public BoardRenderer(GridPane grid, List<Image> images, IntConsumer onTileClicked) {
+        this.grid = grid;
+        this.images = images;
+        this.onTileClicked = onTileClicked;
+    }
+
+    /**
+     * Sets whether tiles slide to their new place instead of jumping there.
+     *
+     * @param animated whether moves are animated
+     */
+    public void setAnimated(boolean animated) {
+        this.animated = animated;
+    }
+
+    /**
+     * Draws every tile of a state, creating the nodes of the tiles if the number of tiles has changed.
+     *
+     * @param state the state to draw
+     */
+    public void render(SliderState state) {
+        List<Tile> tiles = state.getTiles();
+        if (views.size() != tiles.size()) {
+            createViews(tiles);
+        }
+        for (int i = 0; i < tiles.size(); i++) {
+            ImageView view = views.get(i);
+            view.setImage(images.get(tiles.get(i).getType().getValue() - 1));
+            stopSlide(i);
+            place(view, tiles.get(i));
+        }
+        highlight(-1);
+    }
+
+    private void createViews(List<Tile> tiles) {
+        log.debug("Creating the nodes of {} tiles", tiles.size());
+        grid.getChildren().removeAll(views);
+        views.clear();
+        slides.clear();
+        for (int i = 0; i < tiles.size(); i++) {
+            ImageView view = new ImageView();
+            view.setUserData(i);
+            view.setOnMouseClicked(this::onClick);
+            GridPane.setRowSpan(view, 2);
+            GridPane.setColumnSpan(view, 2);
+            views.add(view);
+            slides.add(null);
+        }
+        grid.getChildren().addAll(views);
+    }
+
+    private void onClick(MouseEvent event) {
+        onTileClicked.accept((Integer) ((ImageView) event.getSource()).getUserData());
+    }
+
+    private static void place(ImageView view, Tile tile) {
+        int anchor = tile.getAnchor();
+        GridPane.setColumnIndex(view, anchor % Bitboard.WIDTH);
+        GridPane.setRowIndex(view, anchor / Bitboard.WIDTH);
+    }
+
+    /**
+     * Moves the node of a tile to the place of the tile in a state.
+     *
+     * @param state the state after the tile has moved
+     * @param index the index of the tile
+     */
+    public void update(SliderState state, int index) {
+        ImageView view = views.get(index);
+        int oldColumn = GridPane.getColumnIndex(view);
+        int oldRow = GridPane.getRowIndex(view);
+        place(view, state.getTiles().get(index));
+        int columns = GridPane.getColumnIndex(view) - oldColumn;
+        int rows = GridPane.getRowIndex(view) - oldRow;
+        if (columns == 0 && rows == 0) {
+            return;
+        }
+        stopSlide(index);
+        if (animated) {
+            TranslateTransition slide = new TranslateTransition(SLIDE_DURATION, view);
+            slide.setFromX(-columns * cellWidth());
+            slide.setFromY(-rows * cellHeight());
+            slide.setToX(0);
+            slide.setToY(0);
+            slides.set(index, slide);
+            slide.play();
+        }
+    }
+
+    private void stopSlide(int index) {
+        TranslateTransition slide = slides.get(index);
+        if (slide != null) {
+            slide.stop();
+            slides.set(index, null);
+        }
+        views.get(index).setTranslateX(0);
+        views.get(index).setTranslateY(0);
+    }
+
+    private double cellWidth() {
+        return grid.getColumnConstraints().isEmpty() ? 0 : grid.getColumnConstraints().get(0).getPrefWidth();
+    }
+
+    private double cellHeight() {
+        return grid.getRowConstraints().isEmpty() ? 0 : grid.getRowConstraints().get(0).getPrefHeight();
+    }
+
+    /**
+     * Highlights a tile and removes the highlight from the one highlighted before.
+     *
+     * @param index the index of the tile, or -1 to highlight none
+     */
+    public void highlight(int index) {
+        if (highlighted != -1 && highlighted < views.size()) {
+            views.get(highlighted).setStyle(NORMAL_STYLE);
+        }
+        highlighted = index;
+        if (index != -1) {
+            views.get(index).setStyle(HIGHLIGHTED_STYLE);
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.krook1024.game.controller;
 
 import com.google.inject.Inject;
-import com.krook1024.game.results.GameResult;
-import com.krook1024.game.results.GameResultDao;
-import com.krook1024.game.state.Axis;
+import com.krook1024.game.results.AsyncGameResultWriter;
+import com.krook1024.game.session.Difficulty;
+import com.krook1024.game.session.GameSession;
+import com.krook1024.game.session.PuzzlePool;
 import com.krook1024.game.state.Direction;
-import com.krook1024.game.state.SliderState;
-import com.krook1024.game.state.Tile;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -16,24 +15,17 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.event.ActionEvent;
-import javafx.event.Event;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Calendar;
-import java.util.List;
+import java.time.Clock;
 
 /**
  * Acts as a controller class for the game view.
@@ -42,19 +34,25 @@ import java.util.List;
 public class GameController extends BaseController {
     private String playerName;
 
-    private Instant startTime;
+    private Difficulty difficulty = Difficulty.CLASSIC;
 
     @FXML
     private IntegerProperty steps = new SimpleIntegerProperty(0);
 
-    private SliderState sliderState;
+    private GameSession session;
 
-    private List<Image> images;
+    private BoardRenderer boardRenderer;
 
     private int activeTileIndex = -1;
 
     @Inject
-    private GameResultDao gameResultDao;
+    private AsyncGameResultWriter gameResultWriter;
+
+    @Inject
+    private TileImages tileImages;
+
+    @Inject
+    private PuzzlePool puzzlePool;
 
     @FXML
     private Timeline stopWatchTimeline;
@@ -74,6 +72,8 @@ public class GameController extends BaseController {
     @FXML
     private Button giveUpButton;
 
+    private Button goBackButton;
+
     @FXML
     private BooleanProperty gameOver = new SimpleBooleanProperty();
 
@@ -86,51 +86,57 @@ public class GameController extends BaseController {
         this.playerName = playerName;
     }
 
+    /**
+     * Sets the difficulty of the puzzles of the next games.
+     *
+     * @param difficulty the difficulty
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
     @FXML
     private void initialize() {
-        log.info("Starting a new game");
-
-        images = List.of(
-                new Image(getClass().getResource("/rectangle/1.png").toExternalForm()),
-                new Image(getClass().getResource("/rectangle/2.png").toExternalForm()),
-                new Image(getClass().getResource("/rectangle/3.png").toExternalForm()),
-                new Image(getClass().getResource("/rectangle/4.png").toExternalForm()),
-                new Image(getClass().getResource("/rectangle/5.png").toExternalForm())
-        );
+        boardRenderer = new BoardRenderer(gameGrid, tileImages.getImages(), this::onTileClicked);
+        boardRenderer.setAnimated(true);
 
         stepsLabel.textProperty().bind(steps.asString());
 
         gameOver.addListener((observable, oldValue, newValue) -> {
             if (newValue) {
                 log.info("Game is over");
-                log.debug("Saving result to database...");
-                gameResultDao.persist(createGameResult());
+                log.debug("Queueing result to be saved to database...");
+                gameResultWriter.submit(session.finish());
                 activeTileIndex = -1;
                 stopWatchTimeline.stop();
             }
         });
-
-        Platform.runLater(this::resetGame);
     }
 
-    private GameResult createGameResult() {
-        return GameResult.builder()
-                .player(playerName)
-                .solved(sliderState.isSolved())
-                .duration(java.time.Duration.between(startTime, Instant.now()))
-                .steps(steps.get())
-                .build();
+    @Override
+    protected void onEnter() {
+        resetGame();
     }
 
     /**
      * Resets the game.
      */
     public void resetGame() {
-        sliderState = new SliderState();
+        log.info("Starting a new game");
+        if (stopWatchTimeline != null) {
+            stopWatchTimeline.stop();
+        }
+        giveUpButton.setText("Give up");
+        giveUpButton.setDisable(false);
+        if (goBackButton != null) {
+            ((HBox) goBackButton.getParent()).getChildren().remove(goBackButton);
+            goBackButton = null;
+        }
+        session = new GameSession(playerName, puzzlePool.take(difficulty), difficulty, Clock.systemUTC());
         steps.set(0);
+        activeTileIndex = -1;
         gameOver.setValue(false);
-        startTime = Instant.now();
-        draw();
+        boardRenderer.render(session.getState());
         createStopWatch();
         Platform.runLater(() -> usernameLabel.setText("Hello, " + playerName));
     }
@@ -140,81 +146,40 @@ public class GameController extends BaseController {
      */
     private void createStopWatch() {
         stopWatchTimeline = new Timeline(new KeyFrame(Duration.ZERO, e -> {
-            long millisElapsed = startTime.until(Instant.now(), ChronoUnit.MILLIS);
+            long millisElapsed = session.getDuration().toMillis();
             stopWatchLabel.setText(DurationFormatUtils.formatDuration(millisElapsed, "HH:mm:ss"));
         }), new KeyFrame(Duration.seconds(1)));
         stopWatchTimeline.setCycleCount(Animation.INDEFINITE);
         stopWatchTimeline.play();
     }
 
-    /**
-     * Draws the current {@code SliderState} to the {@code gameGrid} GridPanepublic.
-     */
-    private void draw() {
-        gameGrid.getChildren().clear();
-        for (int i = 0; i < sliderState.getTiles().size(); i++) {
-            Tile t = sliderState.getTiles().get(i);
-            ImageView imageView = new ImageView();
-
-            GridPane.setRowIndex(imageView, Math.min(t.getTopLeft().getY(), t.getBotLeft().getY()));
-            GridPane.setColumnIndex(imageView, Math.min(t.getTopLeft().getX(), t.getBotLeft().getX()));
-            GridPane.setRowSpan(imageView, 2);
-            GridPane.setColumnSpan(imageView, 2);
-
-            imageView.setImage(images.get(t.getType().getValue() - 1));
-            imageView.setOnMouseClicked(this::onGameGridClick);
-            if (i == activeTileIndex) {
-                imageView.setStyle("-fx-opacity: 0.85");
-            }
-            gameGrid.getChildren().add(imageView);
+    private void onTileClicked(int index) {
+        log.info("Clicked on tile {}", index);
+        if (gameOver.get()) {
+            return;
         }
-    }
-
-    private void onGameGridClick(Event e) {
-        Node source = (Node) e.getSource();
-
-        Integer colIndex = GridPane.getColumnIndex(source);
-        Integer rowIndex = GridPane.getRowIndex(source);
-
-        log.info("Clicked on Tile [{}, {}]", colIndex, rowIndex);
-
-        gameGrid.getChildren()
-                .filtered((Node elem) -> elem != source)
-                .forEach((Node elem) -> elem.setStyle("-fx-opacity: 1;"));
-        source.setStyle("-fx-opacity: 0.85");
-
-        activeTileIndex = sliderState.findTileIndexByTopLeftAtPoint(colIndex, rowIndex);
-        log.info("The corresponding index for the clicked tile is {}", activeTileIndex);
+        activeTileIndex = index;
+        boardRenderer.highlight(index);
     }
 
     @FXML
     private void onStepClick(ActionEvent event) {
         Node source = (Node) event.getSource();
         String accessibleText = source.getAccessibleText();
-        if (!sliderState.isSolved() && !gameOver.get() && activeTileIndex != -1) {
+        if (activeTileIndex != -1) {
             log.debug("Stepping tile {} in the direction {}", activeTileIndex, accessibleText);
-            steps.set(steps.get() + 1);
-            switch (accessibleText) {
-                case "UP":
-                    sliderState.stepTileWithIndex(activeTileIndex, Direction.UP, Axis.Y);
-                    break;
-                case "DOWN":
-                    sliderState.stepTileWithIndex(activeTileIndex, Direction.DOWN, Axis.Y);
-                    break;
-                case "LEFT":
-                    sliderState.stepTileWithIndex(activeTileIndex, Direction.LEFT, Axis.X);
-                    break;
-                case "RIGHT":
-                    sliderState.stepTileWithIndex(activeTileIndex, Direction.RIGHT, Axis.X);
+            if (!session.move(activeTileIndex, Direction.valueOf(accessibleText))) {
+                return;
             }
-            if (sliderState.isSolved()) {
+            steps.set(session.getSteps());
+            if (session.isSolved()) {
                 gameOver.setValue(true);
                 log.info("Player {} has solved the game in {} steps", playerName, steps.get());
                 giveUpButton.setText("You won!");
                 giveUpButton.setDisable(true);
                 createGoBackToMainMenuButton();
             }
-            draw();
+            boardRenderer.update(session.getState(), activeTileIndex);
         }
     }
 
@@ -222,6 +187,7 @@ public class GameController extends BaseController {
     private void onGiveUpButtonClicked(ActionEvent event) {
         log.info("{} has given up!", playerName);
 
+        session.giveUp();
         gameOver.setValue(true);
 
         Button source = (Button) event.getSource();
@@ -233,9 +199,9 @@ public class GameController extends BaseController {
 
     private void createGoBackToMainMenuButton() {
         HBox hbox = (HBox) giveUpButton.getParent();
-        Button newButton = new Button("Go back to Main Menu");
-        newButton.setOnAction(this::onGoBackToMainMenuButtonClicked);
-        hbox.getChildren().add(newButton);
+        goBackButton = new Button("Go back to Main Menu");
+        goBackButton.setOnAction(this::onGoBackToMainMenuButtonClicked);
+        hbox.getChildren().add(goBackButton);
     }
 
     @FXML
@@ -1,7 +1,9 @@
 package com.krook1024.game.controller;
 
-import com.krook1024.game.results.GameResult;
+import com.krook1024.game.results.GameResultSummary;
 import com.krook1024.game.results.GameResultDao;
+import com.krook1024.game.results.Leaderboard;
+import com.krook1024.game.session.Difficulty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,6 +13,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -38,34 +41,55 @@ public class HighScoreController extends BaseController {
     @Inject
     private GameResultDao gameResultDao;
 
+    @Inject
+    private Leaderboard leaderboard;
+
+    /**
+     * The number of results loaded at a time when browsing all results.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    @FXML
+    private TableView<GameResultSummary> highScoreTable;
+
+    @FXML
+    private Button historyButton;
+
     @FXML
-    private TableView<GameResult> highScoreTable;
+    private Button loadMoreButton;
 
     @FXML
-    private TableColumn<GameResult, String> player;
+    private ChoiceBox<Difficulty> difficultyBox;
+
+    private ObservableList<GameResultSummary> items;
+
+    private boolean showingHistory;
+
+    private long lastLoadedId;
 
     @FXML
-    private TableColumn<GameResult, Integer> steps;
+    private TableColumn<GameResultSummary, String> player;
 
     @FXML
-    private TableColumn<GameResult, Duration> duration;
+    private TableColumn<GameResultSummary, Integer> steps;
 
     @FXML
-    private TableColumn<GameResult, ZonedDateTime> created;
+    private TableColumn<GameResultSummary, Duration> duration;
+
+    @FXML
+    private TableColumn<GameResultSummary, ZonedDateTime> created;
 
     @FXML
     private void initialize() {
         log.debug("Loading high scores...");
         log.trace("gameResultDao: {}", gameResultDao);
-        List<GameResult> highScoreList = gameResultDao.findBest(10);
-
         player.setCellValueFactory(new PropertyValueFactory<>("player"));
         steps.setCellValueFactory(new PropertyValueFactory<>("steps"));
         duration.setCellValueFactory(new PropertyValueFactory<>("duration"));
         created.setCellValueFactory(new PropertyValueFactory<>("created"));
 
         duration.setCellFactory(column -> {
-            TableCell<GameResult, Duration> cell = new TableCell<GameResult, Duration>() {
+            TableCell<GameResultSummary, Duration> cell = new TableCell<GameResultSummary, Duration>() {
                 @Override
                 protected void updateItem(Duration item, boolean empty) {
                     super.updateItem(item, empty);
@@ -80,7 +104,7 @@ public class HighScoreController extends BaseController {
         });
 
         created.setCellFactory(column -> {
-            TableCell<GameResult, ZonedDateTime> cell = new TableCell<GameResult, ZonedDateTime>() {
+            TableCell<GameResultSummary, ZonedDateTime> cell = new TableCell<GameResultSummary, ZonedDateTime>() {
                 private DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG);
                 @Override
                 protected void updateItem(ZonedDateTime item, boolean empty) {
@@ -95,10 +119,63 @@ public class HighScoreController extends BaseController {
             return cell;
         });
 
-        ObservableList<GameResult> observableResult = FXCollections.observableArrayList();
-        observableResult.addAll(highScoreList);
+        items = FXCollections.observableArrayList();
+        highScoreTable.setItems(items);
+
+        difficultyBox.getItems().setAll(Difficulty.values());
+        difficultyBox.setValue(Difficulty.CLASSIC);
+        difficultyBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (!showingHistory) {
+                showBest();
+            }
+        });
+    }
+
+    @Override
+    protected void onEnter() {
+        showBest();
+    }
+
+    private void showBest() {
+        items.setAll(leaderboard.findBest(difficultyBox.getValue(), 10));
+        showingHistory = false;
+        historyButton.setText("All Results");
+        loadMoreButton.setVisible(false);
+        difficultyBox.setDisable(false);
+    }
+
+    private void showHistory() {
+        items.clear();
+        lastLoadedId = 0;
+        showingHistory = true;
+        historyButton.setText("Best Results");
+        loadMoreButton.setVisible(true);
+        difficultyBox.setDisable(true);
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        log.debug("Loading results after id {}", lastLoadedId);
+        List<GameResultSummary> page = gameResultDao.findSummaryPage(lastLoadedId, PAGE_SIZE);
+        items.addAll(page);
+        if (!page.isEmpty()) {
+            lastLoadedId = page.get(page.size() - 1).getId();
+        }
+        loadMoreButton.setDisable(page.size() < PAGE_SIZE);
+    }
 
-        highScoreTable.setItems(observableResult);
+    @FXML
+    private void onHistoryButtonClicked(ActionEvent event) {
+        if (showingHistory) {
+            showBest();
+        } else {
+            showHistory();
+        }
+    }
+
+    @FXML
+    private void onLoadMoreButtonClicked(ActionEvent event) {
+        loadNextPage();
     }
 
     @FXML
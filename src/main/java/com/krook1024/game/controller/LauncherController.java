@@ -1,15 +1,15 @@
 package com.krook1024.game.controller;
 
+import com.krook1024.game.session.Difficulty;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.TextField;
-import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.IOException;
+import javax.inject.Inject;
+import java.io.UncheckedIOException;
 
 /**
  * Acts as a controller for the launcher view.
@@ -20,6 +20,24 @@ public class LauncherController extends BaseController {
     @FXML
     private TextField nameField;
 
+    @FXML
+    private ChoiceBox<Difficulty> difficultyBox;
+
+    @Inject
+    private TileImages tileImages;
+
+    @FXML
+    private void initialize() {
+        tileImages.preload();
+        difficultyBox.getItems().setAll(Difficulty.values());
+        difficultyBox.setValue(Difficulty.CLASSIC);
+    }
+
+    @Override
+    protected void onEnter() {
+        nameField.setStyle(null);
+    }
+
     /**
      * Called when the user clicks the start game button on the launcher.
      *
@@ -30,14 +48,11 @@ public class LauncherController extends BaseController {
         String name = nameField.getText();
         if (name != null && name.length() > 0) {
             try {
-                fxmlLoader.setLocation(getClass().getResource("/fxml/game.fxml"));
-                Parent root = fxmlLoader.load();
-                Stage stage = getStageOfEvent(event);
-                Scene current = stage.getScene();
-                GameController gameController = fxmlLoader.<GameController>getController();
+                GameController gameController = sceneRegistry.getController("/fxml/game.fxml");
                 gameController.setPlayerName(name);
-                current.setRoot(root);
-            } catch (IOException e) {
+                gameController.setDifficulty(difficultyBox.getValue());
+                sceneRegistry.show(getStageOfEvent(event), "/fxml/game.fxml");
+            } catch (UncheckedIOException e) {
                 log.warn("Something is wrong", e);
             }
         } else {
@@ -0,0 +1,96 @@
+package com.krook1024.game.controller;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the views of the application and keeps them for reuse.
+ *
+ * <p>Every FXML file is parsed once, and its root node and controller are kept, so
+ * switching to a view that has been shown before only replaces the root of the scene.
+ * Controllers that extend {@link BaseController} are notified through
+ * {@link BaseController#onEnter()} every time their view is shown, to reset their state.</p>
+ */
+@Slf4j
+@Singleton
+public class SceneRegistry {
+    private final Provider<FXMLLoader> fxmlLoaderProvider;
+
+    private final Map<String, FXMLLoader> views = new HashMap<>();
+
+    /**
+     * Initializes a registry.
+     *
+     * @param fxmlLoaderProvider the provider of the loaders the views are parsed with
+     */
+    @Inject
+    public SceneRegistry(Provider<FXMLLoader> fxmlLoaderProvider) {
+        this.fxmlLoaderProvider = fxmlLoaderProvider;
+    }
+
+    private FXMLLoader load(String resourceName) {
+        FXMLLoader fxmlLoader = views.get(resourceName);
+        if (fxmlLoader == null) {
+            long startTime = System.nanoTime();
+            fxmlLoader = fxmlLoaderProvider.get();
+            fxmlLoader.setLocation(getClass().getResource(resourceName));
+            try {
+                fxmlLoader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load " + resourceName, e);
+            }
+            views.put(resourceName, fxmlLoader);
+            log.debug("Loaded {} in {} ms", resourceName, (System.nanoTime() - startTime) / 1000000);
+        }
+        return fxmlLoader;
+    }
+
+    /**
+     * Returns the controller of a view, loading the view if it has not been loaded yet.
+     *
+     * @param resourceName the path to the FXML file of the view
+     * @param <C> the type of the controller
+     * @return the controller of the view
+     */
+    public <C> C getController(String resourceName) {
+        return load(resourceName).getController();
+    }
+
+    /**
+     * Shows a view on a stage, loading the view if it has not been loaded yet.
+     *
+     * @param stage the stage to show the view on
+     * @param resourceName the path to the FXML file of the view
+     * @param <C> the type of the controller
+     * @return the controller of the view
+     */
+    public <C> C show(Stage stage, String resourceName) {
+        long startTime = System.nanoTime();
+        boolean cached = views.containsKey(resourceName);
+        FXMLLoader fxmlLoader = load(resourceName);
+        Parent root = fxmlLoader.getRoot();
+        Object controller = fxmlLoader.getController();
+        if (controller instanceof BaseController) {
+            ((BaseController) controller).onEnter();
+        }
+        if (stage.getScene() == null) {
+            stage.setScene(new Scene(root));
+        } else {
+            stage.getScene().setRoot(root);
+        }
+        log.info("Switched to {} in {} ms{}", resourceName, (System.nanoTime() - startTime) / 1000000,
+                cached ? "" : " (first load)");
+        return fxmlLoader.getController();
+    }
+}
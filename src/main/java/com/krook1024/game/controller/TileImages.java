@@ -0,0 +1,80 @@
+package com.krook1024.game.controller;
+
+import com.krook1024.game.state.TileType;
+import javafx.scene.image.Image;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The images of the tiles, shared by every game scene of the application.
+ *
+ * <p>The images are decoded once. {@link #preload()} starts decoding them in the
+ * background, which the launcher does, so that opening a game does not wait for it.</p>
+ */
+@Slf4j
+@Singleton
+public class TileImages {
+    private List<Image> images;
+
+    /**
+     * Starts loading the images in the background, unless they are loaded already.
+     */
+    public void preload() {
+        getImages();
+    }
+
+    /**
+     * Returns the images of the tile types, in the order of their values. Images that are
+     * still loading in the background are shown as soon as they have loaded.
+     *
+     * @return the images of the tile types
+     */
+    public synchronized List<Image> getImages() {
+        if (images == null) {
+            log.debug("Loading tile images...");
+            List<Image> loaded = new ArrayList<>();
+            for (String url : urls()) {
+                loaded.add(new Image(url, true));
+            }
+            images = List.copyOf(loaded);
+        }
+        return images;
+    }
+
+    /**
+     * Returns the locations of the images of the tile types, in the order of their values,
+     * skipping {@link TileType#EMPTY}, which has no image.
+     *
+     * @return the URLs of the images
+     * @throws IllegalStateException if an image is missing
+     */
+    static List<String> urls() {
+        List<String> urls = new ArrayList<>();
+        for (TileType type : TileType.values()) {
+            if (type == TileType.EMPTY) {
+                continue;
+            }
+            String resourceName = "/rectangle/" + type.getValue() + ".png";
+            URL url = TileImages.class.getResource(resourceName);
+            if (url == null) {
+                throw new IllegalStateException("Missing tile image " + resourceName);
+            }
+            urls.add(url.toExternalForm());
+        }
+        return urls;
+    }
+
+    /**
+     * Returns the image of a tile type.
+     *
+     * @param type the type of the tile
+     * @return the image of the tile type
+     */
+    public Image get(TileType type) {
+        return getImages().get(type.getValue() - 1);
+    }
+}
@@ -4,20 +4,22 @@ import com.gluonhq.ignite.guice.GuiceContext;
 import com.google.inject.AbstractModule;
 import com.google.inject.Inject;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.slf4j.LoggerFactory;
+import com.krook1024.game.controller.SceneRegistry;
+import com.krook1024.game.results.AsyncGameResultWriter;
 import com.krook1024.game.results.GameResultDao;
+import com.krook1024.game.results.PlayerStatisticsService;
+import com.krook1024.game.session.PuzzlePool;
+import com.krook1024.game.util.guice.JpaInitializer;
 import com.krook1024.game.util.guice.PersistenceModule;
 
 import java.io.FileReader;
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -32,16 +34,27 @@ public class App extends Application {
                 protected void configure() {
                     install(new PersistenceModule("slidergame"));
                     bind(GameResultDao.class);
+                    bind(PlayerStatisticsService.class).asEagerSingleton();
+                    bind(PuzzlePool.class).asEagerSingleton();
                 }
             }
     ));
 
     @Inject
-    private FXMLLoader fxmlLoader;
+    private SceneRegistry sceneRegistry;
 
     @Inject
     private GameResultDao gameResultDao;
 
+    @Inject
+    private AsyncGameResultWriter gameResultWriter;
+
+    @Inject
+    private JpaInitializer jpaInitializer;
+
+    @Inject
+    private PuzzlePool puzzlePool;
+
     /**
      * Specifies the width of the app window.
      */
@@ -58,8 +71,10 @@ public class App extends Application {
     @Override
     public void start(Stage stage) {
         logger.info("Starting slider-game...");
-        context.init();
         long startTime = System.nanoTime();
+        context.init();
+        jpaInitializer.getReady().thenRun(() ->
+                logger.info("Persistence ready {} ms after start", (System.nanoTime() - startTime) / 1000000));
         logger.trace("gameResultDao: {}", gameResultDao);
 
         stage.setTitle("slider-game");
@@ -68,15 +83,20 @@ public class App extends Application {
         stage.setResizable(false);
 
         try {
-            fxmlLoader.setLocation(getClass().getResource("/fxml/launcher.fxml"));
-            Parent root = fxmlLoader.load();
-            stage.setScene(new Scene(root));
+            sceneRegistry.show(stage, "/fxml/launcher.fxml");
             stage.show();
-        } catch (IOException e) {
+        } catch (UncheckedIOException e) {
             logger.error("Something is wrong", e);
         }
 
         long elapsedTime = System.nanoTime() - startTime;
         logger.info("Started application in {} ms", elapsedTime / 1000000);
     }
+
+    @Override
+    public void stop() {
+        logger.info("Stopping slider-game...");
+        puzzlePool.close();
+        gameResultWriter.close();
+    }
 }
\ No newline at end of file
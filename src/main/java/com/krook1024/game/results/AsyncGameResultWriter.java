@@ -0,0 +1,328 @@
+package com.krook1024.game.results;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Saves {@link GameResult}s to the database in the background.
+ *
+ * <p>Results are accepted into a bounded queue without blocking the caller, and a single
+ * background thread drains the queue and persists whatever has piled up in one transaction
+ * with {@link GameResultDao#persistAll(java.util.Collection)}, so a burst of results turns
+ * into a few batched transactions instead of one transaction each.</p>
+ */
+@Slf4j
+@Singleton
+public class AsyncGameResultWriter implements AutoCloseable {
+    /**
+     * The default number of results the queue can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    /**
+     * The default maximum number of results persisted in a transaction.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1_000;
+
+    private final GameResultDao gameResultDao;
+
+    private final BlockingQueue<GameResult> queue;
+
+    private final int maxBatchSize;
+
+    private final ExecutorService executor;
+
+    private final List<Consumer<List<GameResult>>> listeners = new ArrayList<>();
+
+    private final Object lock = new Object();
+
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private long written;
+
+    private long failed;
+
+    private long flushes;
+
+    private long totalFlushNanos;
+
+    private long lastFlushNanos;
+
+    private long maxFlushNanos;
+
+    private volatile boolean closed;
+
+    /**
+     * Initializes a writer with the default capacity and batch size.
+     *
+     * @param gameResultDao the DAO the results are persisted with
+     */
+    @Inject
+    public AsyncGameResultWriter(GameResultDao gameResultDao) {
+        this(gameResultDao, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Initializes a writer.
+     *
+     * @param gameResultDao the DAO the results are persisted with
+     * @param capacity the number of results the queue can hold
+     * @param maxBatchSize the maximum number of results persisted in a transaction
+     */
+    public AsyncGameResultWriter(GameResultDao gameResultDao, int capacity, int maxBatchSize) {
+        this.gameResultDao = gameResultDao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-result-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::drain);
+    }
+
+    /**
+     * Registers a listener that is called from the background thread with every batch of
+     * results after it has been persisted, before {@link #flush(Duration)} returns.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<List<GameResult>> listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Queues a result to be saved. The call does not block.
+     *
+     * @param result the result to save
+     * @return whether the result has been queued, which is not the case if the queue is
+     * full or the writer is closed
+     */
+    public boolean submit(GameResult result) {
+        // Holding the read lock keeps close() from completing between the check and the offer,
+        // so every result accepted here is still drained
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                log.warn("Dropping result of {}, the writer is closed", result.getPlayer());
+                return false;
+            }
+            submitted.incrementAndGet();
+            if (!queue.offer(result)) {
+                submitted.decrementAndGet();
+                log.warn("Dropping result of {}, the queue is full", result.getPlayer());
+                return false;
+            }
+            return true;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void drain() {
+        List<GameResult> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                GameResult first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+            } catch (InterruptedException e) {
+                closed = true;
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+    }
+
+    private void write(List<GameResult> batch) {
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            gameResultDao.persistAll(batch);
+            success = true;
+        } catch (RuntimeException e) {
+            log.error("Failed to save {} results", batch.size(), e);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        log.debug("Saved {} results in {} ms", batch.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        if (success) {
+            synchronized (listeners) {
+                for (Consumer<List<GameResult>> listener : listeners) {
+                    try {
+                        listener.accept(batch);
+                    } catch (RuntimeException e) {
+                        log.error("Listener failed on {} saved results", batch.size(), e);
+                    }
+                }
+            }
+        }
+        synchronized (lock) {
+            if (success) {
+                written += batch.size();
+            } else {
+                failed += batch.size();
+            }
+            flushes++;
+            totalFlushNanos += elapsed;
+            lastFlushNanos = elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until every result submitted before the call has been saved or has failed to save.
+     *
+     * @param timeout the maximum time to wait
+     * @return whether the results have been written before the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long target = submitted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            while (written + failed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting results and waits for the queued ones to be saved. This is the hook
+     * to call when the application shuts down.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        executor.shutdown();
+        boolean terminated = false;
+        try {
+            terminated = executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!terminated) {
+            // The background thread may still be writing, so the rest is not written here
+            log.warn("Gave up waiting for {} results to be saved", getQueueDepth());
+            return;
+        }
+        List<GameResult> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+        log.info("Closed the result writer, {} results saved and {} failed", getWrittenCount(), getFailedCount());
+    }
+
+    /**
+     * Returns the number of results waiting to be saved.
+     *
+     * @return the depth of the queue
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of results saved.
+     *
+     * @return the number of results saved
+     */
+    public long getWrittenCount() {
+        synchronized (lock) {
+            return written;
+        }
+    }
+
+    /**
+     * Returns the number of results that have failed to save.
+     *
+     * @return the number of results that have failed to save
+     */
+    public long getFailedCount() {
+        synchronized (lock) {
+            return failed;
+        }
+    }
+
+    /**
+     * Returns the number of batches written.
+     *
+     * @return the number of batches written
+     */
+    public long getFlushCount() {
+        synchronized (lock) {
+            return flushes;
+        }
+    }
+
+    /**
+     * Returns the time it took to write the last batch.
+     *
+     * @return the latency of the last flush
+     */
+    public Duration getLastFlushLatency() {
+        synchronized (lock) {
+            return Duration.ofNanos(lastFlushNanos);
+        }
+    }
+
+    /**
+     * Returns the average time it took to write a batch.
+     *
+     * @return the average latency of the flushes
+     */
+    public Duration getAverageFlushLatency() {
+        synchronized (lock) {
+            return Duration.ofNanos(flushes == 0 ? 0 : totalFlushNanos / flushes);
+        }
+    }
+
+    /**
+     * Returns the longest time it took to write a batch.
+     *
+     * @return the maximum latency of the flushes
+     */
+    public Duration getMaxFlushLatency() {
+        synchronized (lock) {
+            return Duration.ofNanos(maxFlushNanos);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.krook1024.game.results;
 
+import com.krook1024.game.session.Difficulty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,9 +18,27 @@ import java.time.ZonedDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = GameResult.BEST_INDEX, columnList = "difficulty, solved, duration, created DESC"))
 public class GameResult {
+    /**
+     * The name of the index that serves {@link GameResultDao#findBest(Difficulty, int)}.
+     */
+    public static final String BEST_INDEX = "idx_game_result_best_by_difficulty";
+
+    /**
+     * The name of the sequence the ids are generated from.
+     */
+    public static final String ID_SEQUENCE = "game_result_seq";
+
+    /**
+     * The number of ids taken from the sequence at a time, the same as the JDBC batch size,
+     * so that persisting a batch of results reads the sequence once.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -28,6 +47,13 @@ public class GameResult {
     @Column(nullable = false)
     private String player;
 
+    /**
+     * The difficulty of the puzzle, {@link Difficulty#CLASSIC} unless it is set.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Difficulty difficulty;
+
     /**
      * Indicates whether the player has solved the puzzle.
      */
@@ -44,6 +70,12 @@ public class GameResult {
     @Column(nullable = false)
     private Duration duration;
 
+    /**
+     * The moves made by the player, encoded by {@link com.krook1024.game.session.MoveJournal}.
+     */
+    @Lob
+    private byte[] journal;
+
     /**
      * The timestamp when the result was saved.
      */
@@ -53,5 +85,8 @@ public class GameResult {
     @PrePersist
     protected void onPersist() {
         created = ZonedDateTime.now();
+        if (difficulty == null) {
+            difficulty = Difficulty.CLASSIC;
+        }
     }
 }
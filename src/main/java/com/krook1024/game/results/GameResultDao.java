@@ -1,14 +1,26 @@
 package com.krook1024.game.results;
 
 import com.google.inject.persist.Transactional;
+import com.krook1024.game.session.Difficulty;
 import com.krook1024.game.util.jpa.GenericJpaDao;
 
+import javax.persistence.TypedQuery;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * DAO class for the {@link GameResult} entity.
  */
 public class GameResultDao extends GenericJpaDao<GameResult> {
+    /**
+     * The select clause of the queries of {@link GameResultSummary} projections, which leave
+     * the journal of the results unread.
+     */
+    private static final String SELECT_SUMMARY = "SELECT NEW com.krook1024.game.results.GameResultSummary("
+            + "r.id, r.player, r.difficulty, r.solved, r.steps, r.duration, r.created) ";
+
     /**
      * The constructor that accepts no arguments.
      */
@@ -17,17 +29,108 @@ public class GameResultDao extends GenericJpaDao<GameResult> {
     }
 
     /**
-     * Returns the list of {@code n} best results with respect to the time
-     * spent for solving the puzzle.
+     * Returns the list of {@code n} best results of a difficulty with respect to
+     * the time spent for solving the puzzle.
+     *
+     * @param difficulty the difficulty of the puzzles
+     * @param n the maximum number of results to be returned
+     * @return the list of {@code n} best results of {@code difficulty} with respect
+     * to the time spent for solving the puzzle
+     */
+    @Transactional
+    public List<GameResult> findBest(Difficulty difficulty, int n) {
+        // Ordering by the constant difficulty and solved columns first lets H2 read the rows
+        // in the order of GameResult.BEST_INDEX and stop after n of them instead of sorting.
+        return getEntityManager().createQuery("SELECT r FROM GameResult r WHERE r.difficulty = :difficulty AND r.solved = :solved "
+                + "ORDER BY r.difficulty, r.solved, r.duration ASC, r.created DESC", GameResult.class)
+                .setParameter("difficulty", difficulty)
+                .setParameter("solved", true)
+                .setMaxResults(n)
+                .getResultList();
+    }
+
+    /**
+     * Returns the summaries of the {@code n} best results of a difficulty, in the order of
+     * {@link #findBest(Difficulty, int)}. Only the columns shown in the high score view are
+     * selected, and no entities are loaded into the persistence context.
      *
+     * @param difficulty the difficulty of the puzzles
      * @param n the maximum number of results to be returned
-     * @return the list of {@code n} best results with respect to the time
-     * spent for solving the puzzle
+     * @return the summaries of the {@code n} best results of {@code difficulty}
      */
     @Transactional
-    public List<GameResult> findBest(int n) {
-        return entityManager.createQuery("SELECT r FROM GameResult r WHERE r.solved = true ORDER BY r.duration ASC, r.created DESC", GameResult.class)
+    public List<GameResultSummary> findBestSummaries(Difficulty difficulty, int n) {
+        return getEntityManager().createQuery(SELECT_SUMMARY
+                + "FROM GameResult r WHERE r.difficulty = :difficulty AND r.solved = :solved "
+                + "ORDER BY r.difficulty, r.solved, r.duration ASC, r.created DESC", GameResultSummary.class)
+                .setParameter("difficulty", difficulty)
+                .setParameter("solved", true)
                 .setMaxResults(n)
                 .getResultList();
     }
+
+    /**
+     * Returns a page of result summaries in the order of their id, like
+     * {@link #findPage(Comparable, int)} but without loading the journals.
+     *
+     * @param afterId the id after which the page starts, or 0 for the first page
+     * @param size the maximum number of summaries to be returned
+     * @return the summaries of the results with an id greater than {@code afterId}
+     */
+    @Transactional
+    public List<GameResultSummary> findSummaryPage(long afterId, int size) {
+        return getEntityManager().createQuery(SELECT_SUMMARY
+                + "FROM GameResult r WHERE r.id > :afterId ORDER BY r.id", GameResultSummary.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Passes the summary of every result to a function as a {@link Stream}, like
+     * {@link #streamAll(int, Function)} but without loading the journals.
+     *
+     * @param fetchSize the number of rows fetched from the database at a time
+     * @param function the function that consumes the stream
+     * @param <R> the type of the result of the function
+     * @return the result of the function
+     */
+    @Transactional
+    public <R> R streamSummaries(int fetchSize, Function<Stream<GameResultSummary>, R> function) {
+        TypedQuery<GameResultSummary> typedQuery = getEntityManager().createQuery(SELECT_SUMMARY
+                + "FROM GameResult r", GameResultSummary.class)
+                .setHint("org.hibernate.fetchSize", fetchSize);
+        try (Stream<GameResultSummary> stream = typedQuery.getResultStream()) {
+            return function.apply(stream);
+        }
+    }
+
+    /**
+     * Computes the statistics of a player by aggregating all of the player's results, in the
+     * way of {@link PlayerStatistics#add(GameResultSummary)}.
+     *
+     * @param player the name of the player
+     * @return the statistics of the player
+     */
+    @Transactional
+    public PlayerStatistics aggregateStatistics(String player) {
+        Object[] row = getEntityManager().createQuery("SELECT COUNT(r), "
+                + "SUM(CASE WHEN r.solved = :solved THEN 1 ELSE 0 END), "
+                + "MIN(CASE WHEN r.solved = :solved AND r.difficulty = :difficulty THEN r.duration END), "
+                + "MIN(CASE WHEN r.solved = :solved AND r.difficulty = :difficulty THEN r.steps END), "
+                + "MAX(r.id) "
+                + "FROM GameResult r WHERE r.player = :player", Object[].class)
+                .setParameter("solved", true)
+                .setParameter("difficulty", PlayerStatistics.RECORD_DIFFICULTY)
+                .setParameter("player", player)
+                .getSingleResult();
+        return PlayerStatistics.builder()
+                .player(player)
+                .games((Long) row[0])
+                .solved(row[1] == null ? 0 : ((Number) row[1]).longValue())
+                .bestDuration((Duration) row[2])
+                .fewestSteps((Integer) row[3])
+                .lastResultId(row[4] == null ? 0 : (Long) row[4])
+                .build();
+    }
 }
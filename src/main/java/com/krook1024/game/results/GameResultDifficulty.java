@@ -0,0 +1,34 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import com.krook1024.game.util.jpa.SchemaUpgrade;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Fills in the difficulty of the {@link GameResult}s saved before it was recorded.
+ *
+ * <p>The schema update adds the difficulty column empty to a database that already has
+ * results. Those results were all played from the default tiles, so they are marked as
+ * {@link Difficulty#CLASSIC}. The index that ordered the best results without the
+ * difficulty is dropped, as {@value GameResult#BEST_INDEX} replaces it.</p>
+ */
+@Slf4j
+public class GameResultDifficulty implements SchemaUpgrade {
+    /**
+     * The name of the index replaced by {@value GameResult#BEST_INDEX}.
+     */
+    static final String OLD_BEST_INDEX = "idx_game_result_best";
+
+    @Override
+    public void apply(EntityManager entityManager) {
+        int updated = entityManager.createQuery("UPDATE GameResult r SET r.difficulty = :difficulty WHERE r.difficulty IS NULL")
+                .setParameter("difficulty", Difficulty.CLASSIC)
+                .executeUpdate();
+        if (updated > 0) {
+            log.info("Marked {} results as {}", updated, Difficulty.CLASSIC);
+        }
+        entityManager.createNativeQuery("DROP INDEX IF EXISTS " + OLD_BEST_INDEX).executeUpdate();
+    }
+}
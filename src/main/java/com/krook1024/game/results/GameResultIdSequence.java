@@ -0,0 +1,31 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.util.jpa.SchemaUpgrade;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Moves the sequence of the ids of {@link GameResult}s past the ids already used.
+ *
+ * <p>Results used to take their ids from {@code hibernate_sequence} one at a time. They now
+ * come from {@value GameResult#ID_SEQUENCE} in blocks of {@value GameResult#ID_ALLOCATION_SIZE},
+ * which the schema update creates starting from 1 in a database that already has results.
+ * With the pooled optimizer a sequence value {@code v} hands out the ids from
+ * {@code v - ID_ALLOCATION_SIZE + 1} to {@code v}, so the sequence is restarted at the
+ * largest id plus a block, and the first id handed out is the one after the largest.</p>
+ */
+@Slf4j
+public class GameResultIdSequence implements SchemaUpgrade {
+    @Override
+    public void apply(EntityManager entityManager) {
+        Long maxId = entityManager.createQuery("SELECT MAX(r.id) FROM GameResult r", Long.class).getSingleResult();
+        if (maxId == null) {
+            return;
+        }
+        long restart = maxId + GameResult.ID_ALLOCATION_SIZE;
+        entityManager.createNativeQuery("ALTER SEQUENCE " + GameResult.ID_SEQUENCE + " RESTART WITH " + restart)
+                .executeUpdate();
+        log.debug("Restarted {} at {}", GameResult.ID_SEQUENCE, restart);
+    }
+}
@@ -0,0 +1,60 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * This class represents the columns of a {@link GameResult} other than its journal, which
+ * the high score view and the player statistics read.
+ */
+@Value
+public class GameResultSummary {
+    /**
+     * The id of the result.
+     */
+    Long id;
+
+    /**
+     * The name of the player.
+     */
+    String player;
+
+    /**
+     * The difficulty of the puzzle.
+     */
+    Difficulty difficulty;
+
+    /**
+     * Indicates whether the player has solved the puzzle.
+     */
+    boolean solved;
+
+    /**
+     * The number of steps made by the player.
+     */
+    int steps;
+
+    /**
+     * The duration of the game.
+     */
+    Duration duration;
+
+    /**
+     * The timestamp when the result was saved.
+     */
+    ZonedDateTime created;
+
+    /**
+     * Returns the summary of a result.
+     *
+     * @param result the result
+     * @return the summary of {@code result}
+     */
+    public static GameResultSummary of(GameResult result) {
+        return new GameResultSummary(result.getId(), result.getPlayer(), result.getDifficulty(), result.isSolved(), result.getSteps(),
+                result.getDuration(), result.getCreated());
+    }
+}
@@ -0,0 +1,147 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the summaries of the best results of every {@link Difficulty} in memory, in the order
+ * of {@link GameResultDao#findBest(Difficulty, int)}.
+ *
+ * <p>The leaderboard of a difficulty is loaded from the database the first time it is needed,
+ * and then kept up to date with the solved results saved by the {@link AsyncGameResultWriter},
+ * so reading it does not run a query. The entries are replaced by a new immutable list on
+ * every update, which makes reads lock-free.</p>
+ */
+@Slf4j
+@Singleton
+public class Leaderboard {
+    /**
+     * The default number of results kept in memory.
+     */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /**
+     * The order of the results, the same as the one of {@link GameResultDao#findBest(Difficulty, int)}.
+     */
+    public static final Comparator<GameResultSummary> ORDER = Comparator.comparing(GameResultSummary::getDuration)
+            .thenComparing(GameResultSummary::getCreated, Comparator.reverseOrder())
+            .thenComparing(GameResultSummary::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final GameResultDao gameResultDao;
+
+    private final int capacity;
+
+    private final Map<Difficulty, List<GameResultSummary>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a leaderboard with the default capacity that follows the results saved by a writer.
+     *
+     * @param gameResultDao the DAO the leaderboard is loaded with
+     * @param gameResultWriter the writer whose saved results are added to the leaderboard
+     */
+    @Inject
+    public Leaderboard(GameResultDao gameResultDao, AsyncGameResultWriter gameResultWriter) {
+        this(gameResultDao, DEFAULT_CAPACITY);
+        gameResultWriter.addListener(this::addAll);
+    }
+
+    /**
+     * Initializes a leaderboard.
+     *
+     * @param gameResultDao the DAO the leaderboard is loaded with
+     * @param capacity the number of results kept in memory
+     */
+    public Leaderboard(GameResultDao gameResultDao, int capacity) {
+        this.gameResultDao = gameResultDao;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the summaries of the {@code n} best results of a difficulty, from memory if
+     * {@code n} does not exceed the capacity of the leaderboard, and from the database otherwise.
+     *
+     * @param difficulty the difficulty of the puzzles
+     * @param n the maximum number of results to be returned
+     * @return the summaries of the {@code n} best results of {@code difficulty}
+     */
+    public List<GameResultSummary> findBest(Difficulty difficulty, int n) {
+        if (n > capacity) {
+            log.debug("{} results do not fit in the leaderboard, querying the database", n);
+            return gameResultDao.findBestSummaries(difficulty, n);
+        }
+        List<GameResultSummary> current = entries.get(difficulty);
+        if (current == null) {
+            current = load(difficulty);
+        }
+        return current.subList(0, Math.min(n, current.size()));
+    }
+
+    private synchronized List<GameResultSummary> load(Difficulty difficulty) {
+        List<GameResultSummary> current = entries.get(difficulty);
+        if (current == null) {
+            log.debug("Loading the {} leaderboard...", difficulty);
+            current = List.copyOf(gameResultDao.findBestSummaries(difficulty, capacity));
+            entries.put(difficulty, current);
+        }
+        return current;
+    }
+
+    /**
+     * Adds results that have been saved to the database to the leaderboards of their
+     * difficulties. Results that are not solved or not good enough are ignored, and so are
+     * the ones of difficulties whose leaderboard is not loaded.
+     *
+     * @param results the results saved
+     */
+    public synchronized void addAll(Collection<GameResult> results) {
+        for (Map.Entry<Difficulty, List<GameResultSummary>> entry : entries.entrySet()) {
+            List<GameResultSummary> merged = merge(entry.getKey(), entry.getValue(), results);
+            if (merged != null) {
+                entry.setValue(merged);
+            }
+        }
+    }
+
+    private List<GameResultSummary> merge(Difficulty difficulty, List<GameResultSummary> entries,
+                                          Collection<GameResult> results) {
+        List<GameResultSummary> merged = null;
+        GameResultSummary worst = entries.size() < capacity ? null : entries.get(entries.size() - 1);
+        for (GameResult solved : results) {
+            if (!solved.isSolved() || solved.getDifficulty() != difficulty) {
+                continue;
+            }
+            GameResultSummary result = GameResultSummary.of(solved);
+            if (worst != null && ORDER.compare(result, worst) >= 0) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new ArrayList<>(entries);
+            }
+            if (result.getId() == null || merged.stream().noneMatch(e -> Objects.equals(e.getId(), result.getId()))) {
+                merged.add(result);
+            }
+        }
+        if (merged == null) {
+            return null;
+        }
+        merged.sort(ORDER);
+        return List.copyOf(merged.subList(0, Math.min(capacity, merged.size())));
+    }
+
+    /**
+     * Drops the results kept in memory, so that they are loaded from the database again when needed.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Duration;
+
+/**
+ * This class represents the summary of the results of a player.
+ *
+ * <p>Every game counts as played and solved, but the best duration and the fewest steps are
+ * the records of the {@link #RECORD_DIFFICULTY} games only, as the generated puzzles of the
+ * other difficulties take different numbers of moves.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class PlayerStatistics {
+    /**
+     * The difficulty of the games the records are kept of.
+     */
+    public static final Difficulty RECORD_DIFFICULTY = Difficulty.CLASSIC;
+
+    /**
+     * The name of the player.
+     */
+    @Id
+    private String player;
+
+    /**
+     * The number of games played.
+     */
+    private long games;
+
+    /**
+     * The number of games solved.
+     */
+    @Column(name = "solvedGames")
+    private long solved;
+
+    /**
+     * The shortest duration of a solved {@link #RECORD_DIFFICULTY} game, or {@code null} if none is solved.
+     */
+    private Duration bestDuration;
+
+    /**
+     * The fewest steps of a solved {@link #RECORD_DIFFICULTY} game, or {@code null} if none is solved.
+     */
+    private Integer fewestSteps;
+
+    /**
+     * The id of the last result added to the summary.
+     */
+    private long lastResultId;
+
+    /**
+     * Initializes the summary of a player who has not played yet.
+     *
+     * @param player the name of the player
+     */
+    public PlayerStatistics(String player) {
+        this.player = player;
+    }
+
+    /**
+     * Returns the ratio of the games solved to the games played.
+     *
+     * @return the solve rate, or 0 if no game is played
+     */
+    public double getSolveRate() {
+        return games == 0 ? 0 : (double) solved / games;
+    }
+
+    /**
+     * Adds a result of the player to the summary.
+     *
+     * @param result the summary of the result to add
+     */
+    public void add(GameResultSummary result) {
+        games++;
+        if (result.isSolved()) {
+            solved++;
+        }
+        if (result.isSolved() && result.getDifficulty() == RECORD_DIFFICULTY) {
+            if (bestDuration == null || result.getDuration().compareTo(bestDuration) < 0) {
+                bestDuration = result.getDuration();
+            }
+            if (fewestSteps == null || result.getSteps() < fewestSteps) {
+                fewestSteps = result.getSteps();
+            }
+        }
+        if (result.getId() != null && result.getId() > lastResultId) {
+            lastResultId = result.getId();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.krook1024.game.results;
+
+import com.google.inject.persist.Transactional;
+import com.krook1024.game.util.jpa.GenericJpaDao;
+
+/**
+ * DAO class for the {@link PlayerStatistics} entity.
+ */
+public class PlayerStatisticsDao extends GenericJpaDao<PlayerStatistics> {
+    /**
+     * The constructor that accepts no arguments.
+     */
+    public PlayerStatisticsDao() {
+        super(PlayerStatistics.class);
+    }
+
+    /**
+     * Returns the id of the last result added to any summary.
+     *
+     * @return the id of the last result added to the summaries, or 0 if there are none
+     */
+    @Transactional
+    public long findLastResultId() {
+        Long lastResultId = getEntityManager()
+                .createQuery("SELECT MAX(s.lastResultId) FROM PlayerStatistics s", Long.class)
+                .getSingleResult();
+        return lastResultId == null ? 0 : lastResultId;
+    }
+
+    /**
+     * Removes every summary from the database.
+     */
+    @Transactional
+    public void removeAll() {
+        getEntityManager().createQuery("DELETE FROM PlayerStatistics").executeUpdate();
+    }
+}
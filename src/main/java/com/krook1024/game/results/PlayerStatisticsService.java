@@ -0,0 +1,131 @@
+package com.krook1024.game.results;
+
+import com.google.inject.persist.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the {@link PlayerStatistics} of every player.
+ *
+ * <p>The summaries are materialized in their own table, so looking up the statistics of a
+ * player is a primary key read. They are brought up to date incrementally: every result
+ * with an id greater than the last one added to any summary is folded into the summary of
+ * its player, which happens after every batch saved by the {@link AsyncGameResultWriter}.
+ * As results are saved by a single writer, their ids are committed in increasing order.</p>
+ */
+@Slf4j
+@Singleton
+public class PlayerStatisticsService {
+    /**
+     * The number of results read from the database at a time.
+     */
+    private static final int BATCH_SIZE = 1_000;
+
+    private final PlayerStatisticsDao playerStatisticsDao;
+
+    private final GameResultDao gameResultDao;
+
+    /**
+     * Initializes a service that updates the summaries after every batch saved by a writer.
+     *
+     * @param playerStatisticsDao the DAO of the summaries
+     * @param gameResultDao the DAO of the results
+     * @param gameResultWriter the writer whose saved results are added to the summaries
+     */
+    @Inject
+    public PlayerStatisticsService(PlayerStatisticsDao playerStatisticsDao, GameResultDao gameResultDao,
+                                   AsyncGameResultWriter gameResultWriter) {
+        this(playerStatisticsDao, gameResultDao);
+        gameResultWriter.addListener(results -> update());
+    }
+
+    /**
+     * Initializes a service.
+     *
+     * @param playerStatisticsDao the DAO of the summaries
+     * @param gameResultDao the DAO of the results
+     */
+    public PlayerStatisticsService(PlayerStatisticsDao playerStatisticsDao, GameResultDao gameResultDao) {
+        this.playerStatisticsDao = playerStatisticsDao;
+        this.gameResultDao = gameResultDao;
+    }
+
+    /**
+     * Returns the statistics of a player from the summary table.
+     *
+     * @param player the name of the player
+     * @return the statistics of the player, or an empty {@link Optional} if the player has
+     * no results added to the summaries
+     */
+    public Optional<PlayerStatistics> find(String player) {
+        return playerStatisticsDao.find(player);
+    }
+
+    /**
+     * Computes the statistics of a player from all of the player's results, without the summary table.
+     *
+     * @param player the name of the player
+     * @return the statistics of the player
+     */
+    public PlayerStatistics aggregate(String player) {
+        return gameResultDao.aggregateStatistics(player);
+    }
+
+    /**
+     * Adds the results saved since the last update to the summaries.
+     *
+     * @return the number of results added
+     */
+    @Transactional
+    public int update() {
+        long lastResultId = playerStatisticsDao.findLastResultId();
+        Map<String, PlayerStatistics> summaries = new HashMap<>();
+        int added = 0;
+        List<GameResultSummary> page;
+        do {
+            page = gameResultDao.findSummaryPage(lastResultId, BATCH_SIZE);
+            for (GameResultSummary result : page) {
+                summaries.computeIfAbsent(result.getPlayer(), this::findOrCreate).add(result);
+            }
+            if (!page.isEmpty()) {
+                lastResultId = page.get(page.size() - 1).getId();
+                added += page.size();
+            }
+        } while (page.size() == BATCH_SIZE);
+        log.debug("Added {} results to the statistics of {} players", added, summaries.size());
+        return added;
+    }
+
+    private PlayerStatistics findOrCreate(String player) {
+        return playerStatisticsDao.find(player).orElseGet(() -> {
+            PlayerStatistics statistics = new PlayerStatistics(player);
+            playerStatisticsDao.persist(statistics);
+            return statistics;
+        });
+    }
+
+    /**
+     * Recomputes every summary from all results, reading them as a stream.
+     *
+     * @return the number of players
+     */
+    @Transactional
+    public int rebuild() {
+        long startTime = System.nanoTime();
+        playerStatisticsDao.removeAll();
+        Map<String, PlayerStatistics> summaries = gameResultDao.streamSummaries(BATCH_SIZE, stream -> {
+            Map<String, PlayerStatistics> result = new HashMap<>();
+            stream.forEach(r -> result.computeIfAbsent(r.getPlayer(), PlayerStatistics::new).add(r));
+            return result;
+        });
+        playerStatisticsDao.persistAll(summaries.values());
+        log.info("Rebuilt the statistics of {} players in {} ms", summaries.size(), (System.nanoTime() - startTime) / 1_000_000);
+        return summaries.size();
+    }
+}
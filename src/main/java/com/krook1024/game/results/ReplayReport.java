@@ -0,0 +1,74 @@
+package com.krook1024.game.results;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class represents the outcome of replaying stored results with a {@link ReplayVerifier}.
+ */
+@Value
+@Builder
+public class ReplayReport {
+    /**
+     * The number of results read.
+     */
+    long results;
+
+    /**
+     * The number of results whose journal has been replayed and agrees with the result.
+     */
+    long verified;
+
+    /**
+     * The number of results that have no journal to replay.
+     */
+    long unverifiable;
+
+    /**
+     * The results whose journal does not agree with the result, in no particular order.
+     */
+    List<Mismatch> mismatches;
+
+    /**
+     * The number of threads the journals were replayed on.
+     */
+    int threads;
+
+    /**
+     * The time spent verifying.
+     */
+    Duration elapsed;
+
+    /**
+     * Returns the number of results verified per second.
+     *
+     * @return the throughput of the verification
+     */
+    public double resultsPerSecond() {
+        return results / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * This class represents a result whose journal does not agree with the result.
+     */
+    @Value
+    public static class Mismatch {
+        /**
+         * The id of the result.
+         */
+        Long id;
+
+        /**
+         * The name of the player.
+         */
+        String player;
+
+        /**
+         * The reason the result has been flagged.
+         */
+        String reason;
+    }
+}
@@ -0,0 +1,247 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.session.MoveJournal;
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.state.TileGeometry;
+import com.krook1024.game.state.TileType;
+import com.krook1024.game.util.guice.PersistenceModule;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks stored {@link GameResult}s against their {@link MoveJournal}s.
+ *
+ * <p>The results are streamed from the database with
+ * {@link GameResultDao#streamAll(int, java.util.function.Function)} and handed to a pool of
+ * threads in batches. Every journal is replayed on a {@link Bitboard} of the starting tiles
+ * it records, or of the default ones if it records none, and the result is flagged if the
+ * replay does not end in the recorded outcome after the recorded number of steps. The
+ * queue of the pool is bounded, and the reading thread replays a batch itself when the
+ * queue is full, so only a few batches are held in memory however many results there are.</p>
+ */
+@Slf4j
+@Singleton
+public class ReplayVerifier {
+    /**
+     * The number of results read from the database and replayed by a thread at a time.
+     */
+    private static final int BATCH_SIZE = 1_000;
+
+    private final GameResultDao gameResultDao;
+
+    private final int threads;
+
+    private final Bitboard start;
+
+    /**
+     * Initializes a verifier that replays on every available processor from the default
+     * starting tiles of {@link SliderState}.
+     *
+     * @param gameResultDao the DAO the results are read with
+     */
+    @Inject
+    public ReplayVerifier(GameResultDao gameResultDao) {
+        this(gameResultDao, Runtime.getRuntime().availableProcessors(), new SliderState());
+    }
+
+    /**
+     * Initializes a verifier.
+     *
+     * @param gameResultDao the DAO the results are read with
+     * @param threads the number of threads to replay on
+     * @param start the state the games whose journal does not record one have started from
+     */
+    public ReplayVerifier(GameResultDao gameResultDao, int threads, SliderState start) {
+        this.gameResultDao = gameResultDao;
+        this.threads = threads;
+        this.start = Bitboard.of(start);
+    }
+
+    /**
+     * Replays the journal of a result and checks it against the result.
+     *
+     * @param result the result to check, which must have a journal
+     * @return the reason the result does not agree with its journal, or an empty
+     * {@link Optional} if it does
+     */
+    public Optional<String> check(GameResult result) {
+        MoveJournal.Reader reader;
+        try {
+            reader = MoveJournal.reader(result.getJournal());
+        } catch (IllegalArgumentException e) {
+            return Optional.of("invalid journal");
+        }
+        if (reader.getStartKey() != 0 && !isValidStart(reader.getStartKey())) {
+            return Optional.of("invalid start position");
+        }
+        Bitboard board = reader.getStartKey() == 0 ? new Bitboard(start) : Bitboard.unpack(reader.getStartKey());
+        boolean solved = board.isSolved();
+        int steps = 0;
+        try {
+            while (reader.next()) {
+                if (solved) {
+                    return Optional.of("moves after the puzzle was solved");
+                }
+                Move move = reader.getMove();
+                if (move.getTileIndex() >= board.size()) {
+                    return Optional.of("move of unknown tile " + move.getTileIndex());
+                }
+                board.stepTileWithIndex(move.getTileIndex(), move.getDirection(), move.getAxis());
+                solved = board.isSolved();
+                steps++;
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.of("truncated journal");
+        }
+        if (steps != result.getSteps()) {
+            return Optional.of(result.getSteps() + " steps recorded, " + steps + " in the journal");
+        }
+        if (solved != result.isSolved()) {
+            return Optional.of(solved ? "recorded as unsolved, but the journal solves the puzzle"
+                    : "recorded as solved, but the journal does not solve the puzzle");
+        }
+        if (reader.hasTimestamps() && result.getDuration() != null
+                && reader.getElapsedMillis() > result.getDuration().toMillis() + 1) {
+            return Optional.of("moves made after the end of the game");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tells whether a packed key recorded as the start of a game holds tiles of known types
+     * that fit on the board without overlapping, so that it can be unpacked.
+     *
+     * @param key the packed key
+     * @return whether the key is a valid position
+     */
+    private static boolean isValidStart(long key) {
+        long occupancy = 0;
+        for (int i = 0, size = Bitboard.packedSize(key); i < size; i++) {
+            int b = (int) (key >>> (8 * i)) & 0xFF;
+            int type = b >>> 5;
+            int anchor = b & 0x1F;
+            if (type == TileType.EMPTY.ordinal() || type >= TileType.values().length || anchor >= Bitboard.CELLS) {
+                return false;
+            }
+            long mask = TileGeometry.mask(TileType.of(type), anchor);
+            if (mask == 0 || (occupancy & mask) != 0) {
+                return false;
+            }
+            occupancy |= mask;
+        }
+        return true;
+    }
+
+    /**
+     * Replays the journals of every result in the database.
+     *
+     * @return the outcome of the verification
+     */
+    public ReplayReport verifyAll() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "replay-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        LongAdder verified = new LongAdder();
+        LongAdder unverifiable = new LongAdder();
+        Queue<ReplayReport.Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+        long startTime = System.nanoTime();
+        long results;
+        try {
+            results = gameResultDao.streamAll(BATCH_SIZE, stream -> {
+                long count = 0;
+                List<GameResult> batch = new ArrayList<>(BATCH_SIZE);
+                for (Iterator<GameResult> it = stream.iterator(); it.hasNext(); count++) {
+                    batch.add(it.next());
+                    if (batch.size() == BATCH_SIZE) {
+                        List<GameResult> full = batch;
+                        executor.execute(() -> verify(full, verified, unverifiable, mismatches));
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                verify(batch, verified, unverifiable, mismatches);
+                return count;
+            });
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+                throw new IllegalStateException("Timed out waiting for the replays");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        ReplayReport report = ReplayReport.builder()
+                .results(results)
+                .verified(verified.sum())
+                .unverifiable(unverifiable.sum())
+                .mismatches(List.copyOf(mismatches))
+                .threads(threads)
+                .elapsed(Duration.ofNanos(System.nanoTime() - startTime))
+                .build();
+        log.info("Replayed {} results on {} threads in {} ms, {} results/s: {} verified, {} without journal, {} mismatches",
+                results, threads, report.getElapsed().toMillis(), (long) report.resultsPerSecond(),
+                report.getVerified(), report.getUnverifiable(), report.getMismatches().size());
+        return report;
+    }
+
+    private void verify(List<GameResult> batch, LongAdder verified, LongAdder unverifiable,
+                        Queue<ReplayReport.Mismatch> mismatches) {
+        for (GameResult result : batch) {
+            if (result.getJournal() == null) {
+                unverifiable.increment();
+                continue;
+            }
+            Optional<String> reason;
+            try {
+                reason = check(result);
+            } catch (RuntimeException e) {
+                log.error("Failed to replay result {} of {}", result.getId(), result.getPlayer(), e);
+                reason = Optional.of("replay failed: " + e);
+            }
+            if (reason.isPresent()) {
+                log.warn("Result {} of {} does not agree with its journal: {}", result.getId(), result.getPlayer(), reason.get());
+                mismatches.add(new ReplayReport.Mismatch(result.getId(), result.getPlayer(), reason.get()));
+            } else {
+                verified.increment();
+            }
+        }
+    }
+
+    /**
+     * Replays the journals of every result in the database and prints the results that do not agree with them.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Injector injector = Guice.createInjector(new PersistenceModule("slidergame"));
+        ReplayReport report = injector.getInstance(ReplayVerifier.class).verifyAll();
+        System.out.printf("%d results in %d ms: %,.0f results/s, %d verified, %d without journal, %d mismatches%n",
+                report.getResults(), report.getElapsed().toMillis(), report.resultsPerSecond(),
+                report.getVerified(), report.getUnverifiable(), report.getMismatches().size());
+        report.getMismatches().forEach(mismatch -> System.out.printf("%d %s: %s%n",
+                mismatch.getId(), mismatch.getPlayer(), mismatch.getReason()));
+        injector.getInstance(PersistService.class).stop();
+    }
+}
@@ -0,0 +1,62 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.state.SliderState;
+
+/**
+ * This enum represents the difficulty of a puzzle, as the range of the lengths of its shortest solution.
+ */
+public enum Difficulty {
+    /**
+     * The default starting tiles of {@link SliderState}, which are not generated.
+     */
+    CLASSIC(0, 0),
+    /**
+     * A puzzle that can be solved in 10 to 19 moves.
+     */
+    EASY(10, 19),
+    /**
+     * A puzzle that can be solved in 20 to 34 moves.
+     */
+    MEDIUM(20, 34),
+    /**
+     * A puzzle that needs at least 35 moves to solve.
+     */
+    HARD(35, Integer.MAX_VALUE);
+
+    private final int minDepth;
+
+    private final int maxDepth;
+
+    /**
+     * @param minDepth the minimum length of the shortest solution
+     * @param maxDepth the maximum length of the shortest solution
+     */
+    Difficulty(int minDepth, int maxDepth) {
+        this.minDepth = minDepth;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the minimum length of the shortest solution.
+     * @return the minimum number of moves
+     */
+    public int getMinDepth() {
+        return minDepth;
+    }
+
+    /**
+     * Returns the maximum length of the shortest solution.
+     * @return the maximum number of moves
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Tells whether puzzles of this difficulty are generated.
+     * @return whether the puzzles are generated
+     */
+    public boolean isGenerated() {
+        return this != CLASSIC;
+    }
+}
@@ -0,0 +1,218 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.results.GameResult;
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Direction;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This class represents a single game played by a player, independently of the GUI.
+ *
+ * <p>A session starts when it is created and is over when the puzzle is solved or the player
+ * gives up. Every move made while the game is not over counts as a step, even if the tile
+ * cannot move, the same way the game view counts clicks on the arrow buttons.</p>
+ */
+@Slf4j
+public class GameSession {
+    private final String playerName;
+
+    private final Difficulty difficulty;
+
+    private final SliderState state;
+
+    private final Clock clock;
+
+    private final Instant startTime;
+
+    private final MoveJournal journal;
+
+    private Instant endTime;
+
+    private int steps;
+
+    /**
+     * Starts a session from the default starting tiles of {@link SliderState}.
+     *
+     * @param playerName the name of the player
+     */
+    public GameSession(String playerName) {
+        this(playerName, new SliderState(), Clock.systemUTC());
+    }
+
+    /**
+     * Starts a session of a {@link Difficulty#CLASSIC} puzzle.
+     *
+     * @param playerName the name of the player
+     * @param state the state to start from, which is played on directly
+     * @param clock the clock used to time the game
+     */
+    public GameSession(String playerName, SliderState state, Clock clock) {
+        this(playerName, state, Difficulty.CLASSIC, clock);
+    }
+
+    /**
+     * Starts a session. A session that starts from the default tiles of {@link SliderState}
+     * is a {@link Difficulty#CLASSIC} game whatever difficulty it is started with, so that a
+     * {@link PuzzlePool} without a puzzle ready does not put a classic game among the
+     * generated ones.
+     *
+     * @param playerName the name of the player
+     * @param state the state to start from, which is played on directly
+     * @param difficulty the difficulty of the puzzle
+     * @param clock the clock used to time the game
+     */
+    public GameSession(String playerName, SliderState state, Difficulty difficulty, Clock clock) {
+        this.playerName = playerName;
+        this.difficulty = state.equals(new SliderState()) ? Difficulty.CLASSIC : difficulty;
+        this.state = state;
+        this.clock = clock;
+        this.startTime = clock.instant();
+        this.journal = new MoveJournal(true, startTime.toEpochMilli(), Bitboard.of(state).pack());
+    }
+
+    /**
+     * Makes a move, unless the game is over.
+     *
+     * @param tileIndex the index of the tile
+     * @param direction the direction
+     * @return whether the move has been counted as a step
+     */
+    public boolean move(int tileIndex, Direction direction) {
+        return move(Move.of(tileIndex, direction));
+    }
+
+    /**
+     * Makes a move, unless the game is over.
+     *
+     * @param move the move
+     * @return whether the move has been counted as a step
+     */
+    public boolean move(Move move) {
+        if (isOver()) {
+            return false;
+        }
+        steps++;
+        journal.record(move, clock.millis());
+        move.applyTo(state);
+        if (state.isSolved()) {
+            endTime = clock.instant();
+            log.debug("Player {} has solved the game in {} steps", playerName, steps);
+        }
+        return true;
+    }
+
+    /**
+     * Ends the game without solving it, unless it is over already.
+     */
+    public void giveUp() {
+        if (!isOver()) {
+            endTime = clock.instant();
+            log.debug("Player {} has given up after {} steps", playerName, steps);
+        }
+    }
+
+    /**
+     * Tells whether the game is over, either solved or given up.
+     *
+     * @return whether the game is over
+     */
+    public boolean isOver() {
+        return endTime != null;
+    }
+
+    /**
+     * Tells whether the puzzle is solved.
+     *
+     * @return whether the puzzle is solved
+     */
+    public boolean isSolved() {
+        return state.isSolved();
+    }
+
+    /**
+     * Returns the result of the game, giving up first if it is not over yet.
+     *
+     * @return the result of the game
+     */
+    public GameResult finish() {
+        giveUp();
+        return GameResult.builder()
+                .player(playerName)
+                .difficulty(difficulty)
+                .solved(isSolved())
+                .duration(getDuration())
+                .steps(steps)
+                .journal(journal.toByteArray())
+                .build();
+    }
+
+    /**
+     * Returns the time spent playing, until now if the game is not over yet.
+     *
+     * @return the duration of the game
+     */
+    public Duration getDuration() {
+        return Duration.between(startTime, isOver() ? endTime : clock.instant());
+    }
+
+    /**
+     * Returns the name of the player.
+     *
+     * @return the name of the player
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Returns the difficulty of the puzzle.
+     *
+     * @return the difficulty of the puzzle
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the state being played on. It must only be changed through {@link #move(Move)}.
+     *
+     * @return the state of the game
+     */
+    public SliderState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the time the game has started.
+     *
+     * @return the start time
+     */
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the journal of the moves made, which holds every step, including the ones
+     * that have not moved a tile.
+     *
+     * @return the journal of the game
+     */
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the number of steps made.
+     *
+     * @return the number of steps
+     */
+    public int getSteps() {
+        return steps;
+    }
+}
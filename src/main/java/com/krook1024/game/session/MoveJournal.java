@@ -0,0 +1,223 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+
+import java.util.Arrays;
+
+/**
+ * A compact binary record of the moves of a game.
+ *
+ * <p>The journal starts with a header byte holding the version of the format and whether
+ * timestamps are recorded. Since version 2 the header is followed by the packed
+ * {@link Bitboard} key of the starting tiles as 8 big-endian bytes, 0 if they are unknown.
+ * Every move is a single byte, its {@link Move#getCode() code}, optionally followed by the
+ * milliseconds elapsed since the previous move (or the start of the game) as an unsigned
+ * LEB128 varint, so that a move takes one byte, and usually two or three with timestamps.
+ * Recording a move only appends to a byte array.</p>
+ */
+public final class MoveJournal {
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 2;
+
+    private static final int TIMESTAMPS = 0x80;
+
+    private static final int VERSION_MASK = 0x7F;
+
+    private final boolean timestamps;
+
+    private byte[] bytes = new byte[32];
+
+    private int length;
+
+    private int moves;
+
+    private long lastMillis;
+
+    /**
+     * Initializes an empty journal.
+     *
+     * @param timestamps whether the time of each move is recorded
+     * @param startMillis the time the game has started at, in milliseconds
+     * @param startKey the packed {@link Bitboard} key of the tiles the game has started from, or 0 if unknown
+     */
+    public MoveJournal(boolean timestamps, long startMillis, long startKey) {
+        this.timestamps = timestamps;
+        this.lastMillis = startMillis;
+        bytes[length++] = (byte) (VERSION | (timestamps ? TIMESTAMPS : 0));
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[length++] = (byte) (startKey >>> shift);
+        }
+    }
+
+    /**
+     * Records a move.
+     *
+     * @param move the move
+     * @param millis the time the move was made at, in milliseconds, ignored if timestamps are not recorded
+     */
+    public void record(Move move, long millis) {
+        int code = move.getCode();
+        if (code > 0xFF) {
+            throw new IllegalArgumentException("Tile index does not fit in a journal: " + move.getTileIndex());
+        }
+        ensureCapacity(length + 11);
+        bytes[length++] = (byte) code;
+        if (timestamps) {
+            long delta = Math.max(0, millis - lastMillis);
+            lastMillis = millis;
+            while ((delta & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+        }
+        moves++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+
+    /**
+     * Returns the number of moves recorded.
+     *
+     * @return the number of moves
+     */
+    public int size() {
+        return moves;
+    }
+
+    /**
+     * Returns the encoded journal.
+     *
+     * @return a copy of the bytes of the journal
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Returns a decoder of an encoded journal.
+     *
+     * @param journal the bytes of the journal
+     * @return a reader positioned before the first move
+     * @throws IllegalArgumentException if the journal is truncated or of an unknown version
+     */
+    public static Reader reader(byte[] journal) {
+        return new Reader(journal);
+    }
+
+    /**
+     * Decodes the moves of an encoded journal one at a time, without allocating.
+     */
+    public static final class Reader {
+        private final byte[] bytes;
+
+        private final boolean timestamps;
+
+        private final long startKey;
+
+        private int position = 1;
+
+        private int code = -1;
+
+        private long elapsedMillis;
+
+        private Reader(byte[] bytes) {
+            if (bytes == null || bytes.length == 0 || (bytes[0] & VERSION_MASK) < 1 || (bytes[0] & VERSION_MASK) > VERSION) {
+                throw new IllegalArgumentException("Not a move journal");
+            }
+            this.bytes = bytes;
+            this.timestamps = (bytes[0] & TIMESTAMPS) != 0;
+            long key = 0;
+            if ((bytes[0] & VERSION_MASK) >= 2) {
+                if (bytes.length < 1 + Long.BYTES) {
+                    throw new IllegalArgumentException("Truncated move journal");
+                }
+                for (; position <= Long.BYTES; position++) {
+                    key = key << 8 | (bytes[position] & 0xFF);
+                }
+            }
+            this.startKey = key;
+        }
+
+        /**
+         * Returns the tiles the game has started from.
+         *
+         * @return the packed {@link Bitboard} key of the starting tiles, or 0 if they are not recorded
+         */
+        public long getStartKey() {
+            return startKey;
+        }
+
+        /**
+         * Tells whether the journal records the time of each move.
+         *
+         * @return whether timestamps are recorded
+         */
+        public boolean hasTimestamps() {
+            return timestamps;
+        }
+
+        /**
+         * Advances to the next move.
+         *
+         * @return whether there is a next move
+         * @throws IllegalArgumentException if the journal is truncated
+         */
+        public boolean next() {
+            if (position >= bytes.length) {
+                return false;
+            }
+            code = bytes[position++] & 0xFF;
+            if (timestamps) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    if (position >= bytes.length || shift > 63) {
+                        throw new IllegalArgumentException("Truncated move journal");
+                    }
+                    b = bytes[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                elapsedMillis += delta;
+            }
+            return true;
+        }
+
+        /**
+         * Returns the code of the current move.
+         *
+         * @return the code of the current move, as returned by {@link Move#getCode()}
+         */
+        public int getCode() {
+            return code;
+        }
+
+        /**
+         * Returns the current move.
+         *
+         * @return the current move
+         */
+        public Move getMove() {
+            return Move.ofCode(code);
+        }
+
+        /**
+         * Returns the time of the current move.
+         *
+         * @return the milliseconds elapsed from the start of the game to the current move,
+         * or 0 if timestamps are not recorded
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
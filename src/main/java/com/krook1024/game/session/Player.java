@@ -0,0 +1,23 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.state.Move;
+
+/**
+ * An automated player of a {@link GameSession}.
+ */
+public interface Player {
+    /**
+     * Returns the name the player's results are saved under.
+     *
+     * @return the name of the player
+     */
+    String getName();
+
+    /**
+     * Chooses the next move of a game.
+     *
+     * @param session the game being played
+     * @return the next move, or {@code null} to give up
+     */
+    Move nextMove(GameSession session);
+}
@@ -0,0 +1,153 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.solver.PuzzleGenerator;
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.SliderState;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps generated puzzles of every {@link Difficulty} ready to be played.
+ *
+ * <p>Every difficulty has a bounded queue of packed {@link Bitboard} keys that a background
+ * thread fills with a {@link PuzzleGenerator} when the pool is created and after every
+ * puzzle taken. Taking a puzzle only polls the queue, so starting a game never waits for
+ * generation: if the queue is still empty, the game starts from the default tiles.</p>
+ */
+@Slf4j
+@Singleton
+public class PuzzlePool implements AutoCloseable {
+    /**
+     * The default number of puzzles kept for every difficulty.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<Difficulty, BlockingQueue<Long>> puzzles = new EnumMap<>(Difficulty.class);
+
+    private final int capacity;
+
+    private final SplittableRandom random;
+
+    private final ExecutorService executor;
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private PuzzleGenerator generator;
+
+    private volatile boolean closed;
+
+    /**
+     * Initializes a pool with the default capacity and starts filling it.
+     */
+    @Inject
+    public PuzzlePool() {
+        this(DEFAULT_CAPACITY, new SplittableRandom());
+    }
+
+    /**
+     * Initializes a pool and starts filling it.
+     *
+     * @param capacity the number of puzzles kept for every difficulty
+     * @param random the source of randomness of the generated puzzles
+     */
+    public PuzzlePool(int capacity, SplittableRandom random) {
+        this.capacity = capacity;
+        this.random = random;
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.isGenerated()) {
+                puzzles.put(difficulty, new ArrayBlockingQueue<>(capacity));
+            }
+        }
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * Takes a puzzle of a difficulty. The call does not block.
+     *
+     * @param difficulty the difficulty of the puzzle
+     * @return the starting state of the puzzle, or the default starting state of
+     * {@link SliderState} if the difficulty is {@link Difficulty#CLASSIC} or no puzzle is ready yet
+     */
+    public SliderState take(Difficulty difficulty) {
+        if (!difficulty.isGenerated()) {
+            return new SliderState();
+        }
+        Long key = puzzles.get(difficulty).poll();
+        refill();
+        if (key == null) {
+            log.warn("No {} puzzle is ready, starting from the default tiles", difficulty);
+            return new SliderState();
+        }
+        return Bitboard.unpack(key).toSliderState();
+    }
+
+    /**
+     * Returns the number of puzzles of a difficulty that are ready.
+     *
+     * @param difficulty the difficulty
+     * @return the number of puzzles ready
+     */
+    public int available(Difficulty difficulty) {
+        BlockingQueue<Long> queue = puzzles.get(difficulty);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private boolean isFull() {
+        return puzzles.values().stream().allMatch(queue -> queue.size() >= capacity);
+    }
+
+    private void refill() {
+        if (!closed && !isFull() && refilling.compareAndSet(false, true)) {
+            executor.execute(this::fill);
+        }
+    }
+
+    private void fill() {
+        try {
+            long startTime = System.nanoTime();
+            if (generator == null) {
+                generator = new PuzzleGenerator();
+            }
+            int generated = 0;
+            for (Map.Entry<Difficulty, BlockingQueue<Long>> entry : puzzles.entrySet()) {
+                Difficulty difficulty = entry.getKey();
+                while (!closed && entry.getValue().offer(
+                        generator.generateKey(difficulty.getMinDepth(), difficulty.getMaxDepth(), random))) {
+                    generated++;
+                }
+            }
+            log.debug("Generated {} puzzles in {} ms", generated, (System.nanoTime() - startTime) / 1000000);
+        } catch (RuntimeException e) {
+            log.error("Failed to generate puzzles", e);
+            return;
+        } finally {
+            refilling.set(false);
+        }
+        // A puzzle may have been taken after its queue was filled but before the flag was cleared
+        refill();
+    }
+
+    /**
+     * Stops generating puzzles.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+}
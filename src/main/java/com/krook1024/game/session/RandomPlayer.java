@@ -0,0 +1,39 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.state.Move;
+
+import java.util.SplittableRandom;
+
+/**
+ * A player that steps random tiles in random directions and gives up after a number of steps.
+ */
+public class RandomPlayer implements Player {
+    private final SplittableRandom random;
+
+    private final int maxSteps;
+
+    /**
+     * Initializes a player.
+     *
+     * @param seed the seed of the random moves
+     * @param maxSteps the number of steps after which the player gives up
+     */
+    public RandomPlayer(long seed, int maxSteps) {
+        this.random = new SplittableRandom(seed);
+        this.maxSteps = maxSteps;
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public Move nextMove(GameSession session) {
+        if (session.getSteps() >= maxSteps) {
+            return null;
+        }
+        int tiles = session.getState().size();
+        return Move.of(random.nextInt(tiles), Move.DIRECTIONS.get(random.nextInt(Move.DIRECTIONS.size())));
+    }
+}
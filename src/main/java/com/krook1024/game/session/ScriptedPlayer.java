@@ -0,0 +1,47 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.solver.Solver;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+
+import java.util.List;
+
+/**
+ * A player that makes a fixed sequence of moves and gives up when it runs out of them.
+ */
+public class ScriptedPlayer implements Player {
+    private final String name;
+
+    private final List<Move> moves;
+
+    /**
+     * Initializes a player.
+     *
+     * @param name the name of the player
+     * @param moves the moves to make
+     */
+    public ScriptedPlayer(String name, List<Move> moves) {
+        this.name = name;
+        this.moves = List.copyOf(moves);
+    }
+
+    /**
+     * Returns a player that makes the shortest solution of a state found by the {@link Solver}.
+     *
+     * @param start the state the games start from
+     * @return the player
+     */
+    public static ScriptedPlayer solving(SliderState start) {
+        return new ScriptedPlayer("solver", new Solver().solve(start).getMoves());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Move nextMove(GameSession session) {
+        return session.getSteps() < moves.size() ? moves.get(session.getSteps()) : null;
+    }
+}
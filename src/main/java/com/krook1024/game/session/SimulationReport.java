@@ -0,0 +1,47 @@
+package com.krook1024.game.session;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * This class represents the outcome of a simulation run.
+ */
+@Value
+@Builder
+public class SimulationReport {
+    /**
+     * The number of games played.
+     */
+    long games;
+
+    /**
+     * The number of games solved.
+     */
+    long solved;
+
+    /**
+     * The total number of steps made in all games.
+     */
+    long steps;
+
+    /**
+     * The number of threads the games were played on.
+     */
+    int threads;
+
+    /**
+     * The time spent playing.
+     */
+    Duration elapsed;
+
+    /**
+     * Returns the number of games played per second.
+     *
+     * @return the throughput of the simulation
+     */
+    public double gamesPerSecond() {
+        return games / (elapsed.toNanos() / 1e9);
+    }
+}
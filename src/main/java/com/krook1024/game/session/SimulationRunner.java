@@ -0,0 +1,163 @@
+package com.krook1024.game.session;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.krook1024.game.results.GameResult;
+import com.krook1024.game.results.AsyncGameResultWriter;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.guice.PersistenceModule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Plays many {@link GameSession}s concurrently with automated {@link Player}s, without a GUI.
+ */
+@Slf4j
+public class SimulationRunner {
+    private final int threads;
+
+    private final Supplier<SliderState> starts;
+
+    private final Clock clock;
+
+    /**
+     * Initializes a runner that starts every game from the default starting tiles of {@link SliderState}.
+     *
+     * @param threads the number of threads to play on
+     */
+    public SimulationRunner(int threads) {
+        this(threads, SliderState::new, Clock.systemUTC());
+    }
+
+    /**
+     * Initializes a runner.
+     *
+     * @param threads the number of threads to play on
+     * @param starts supplies the state every game starts from
+     * @param clock the clock used to time the games
+     */
+    public SimulationRunner(int threads, Supplier<SliderState> starts, Clock clock) {
+        this.threads = threads;
+        this.starts = starts;
+        this.clock = clock;
+    }
+
+    /**
+     * Plays a single game to the end.
+     *
+     * @param player the player
+     * @param start the state to start from
+     * @return the result of the game
+     */
+    public GameResult play(Player player, SliderState start) {
+        GameSession session = new GameSession(player.getName(), start, clock);
+        while (!session.isOver()) {
+            Move move = player.nextMove(session);
+            if (move == null) {
+                session.giveUp();
+            } else {
+                session.move(move);
+            }
+        }
+        return session.finish();
+    }
+
+    /**
+     * Plays games until a number of them are finished.
+     *
+     * @param games the number of games to play
+     * @param players creates the player of each thread from the index of the thread
+     * @param results receives the result of every game, from the thread that played it
+     * @return the outcome of the simulation
+     */
+    public SimulationReport run(long games, IntFunction<Player> players, Consumer<GameResult> results) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong remaining = new AtomicLong(games);
+        LongAdder solved = new LongAdder();
+        LongAdder steps = new LongAdder();
+        long startTime = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Player player = players.apply(i);
+                futures.add(executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        GameResult result = play(player, starts.get());
+                        if (result.isSolved()) {
+                            solved.increment();
+                        }
+                        steps.add(result.getSteps());
+                        results.accept(result);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        SimulationReport report = SimulationReport.builder()
+                .games(games)
+                .solved(solved.sum())
+                .steps(steps.sum())
+                .threads(threads)
+                .elapsed(Duration.ofNanos(System.nanoTime() - startTime))
+                .build();
+        log.info("Played {} games ({} solved) on {} threads in {} ms, {} games/s",
+                report.getGames(), report.getSolved(), threads, report.getElapsed().toMillis(),
+                (long) report.gamesPerSecond());
+        return report;
+    }
+
+    /**
+     * Plays games with random and scripted players and prints the throughput. With the
+     * {@code --persist} option the results are saved to the database through an
+     * {@link AsyncGameResultWriter}.
+     *
+     * @param args the number of games, then optionally {@code --persist}
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        boolean persist = args.length > 1 && "--persist".equals(args[1]);
+
+        Consumer<GameResult> results = result -> { };
+        AsyncGameResultWriter writer = null;
+        if (persist) {
+            Injector injector = Guice.createInjector(new PersistenceModule("slidergame"));
+            writer = injector.getInstance(AsyncGameResultWriter.class);
+            results = writer::submit;
+        }
+
+        SimulationRunner runner = new SimulationRunner(Runtime.getRuntime().availableProcessors());
+        ScriptedPlayer solver = ScriptedPlayer.solving(new SliderState());
+        SimulationReport report = runner.run(games, i -> i % 2 == 0 ? new RandomPlayer(i, 200) : solver, results);
+        System.out.printf("%d games, %d solved, %d steps in %d ms: %,.0f games/s%n",
+                report.getGames(), report.getSolved(), report.getSteps(),
+                report.getElapsed().toMillis(), report.gamesPerSecond());
+        if (writer != null) {
+            writer.close();
+            System.out.printf("%d results saved in %d batches, average flush latency %d ms%n",
+                    writer.getWrittenCount(), writer.getFlushCount(), writer.getAverageFlushLatency().toMillis());
+        }
+    }
+}
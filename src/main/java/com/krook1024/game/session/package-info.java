@@ -0,0 +1,4 @@
+/**
+ * Provides the headless game session and the simulation of automated players.
+ */
+package com.krook1024.game.session;
@@ -0,0 +1,165 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.board.Board;
+import com.krook1024.game.board.BoardGeometry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An admissible estimate of the number of moves needed to solve a board, the sum of the
+ * distances of {@link PatternDatabase}s.
+ *
+ * <p>The pieces other than the target are split into groups, and every group makes a
+ * pattern with the target piece. Only the first pattern counts the moves of the target
+ * piece, so every move of a solution is counted by at most one pattern, and the sum of
+ * the distances never exceeds the length of the solution.</p>
+ */
+@Slf4j
+public final class AdditivePatternDatabase {
+    /**
+     * The estimate of positions that cannot be solved.
+     */
+    public static final int UNSOLVABLE = Integer.MAX_VALUE;
+
+    private final List<PatternDatabase> databases;
+
+    private AdditivePatternDatabase(List<PatternDatabase> databases) {
+        this.databases = List.copyOf(databases);
+    }
+
+    /**
+     * Returns the largest number of pieces a pattern of a board can have.
+     *
+     * @param geometry the geometry of the board
+     * @return the number of pieces of the largest pattern within {@link PatternDatabase#MAX_ENTRIES}
+     */
+    public static int maxPatternSize(BoardGeometry geometry) {
+        int size = 1;
+        while (size < geometry.pieces() && PatternDatabase.entries(geometry, size + 1) <= PatternDatabase.MAX_ENTRIES) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Splits the pieces of a board into patterns.
+     *
+     * @param geometry the geometry of the board
+     * @param patternSize the number of pieces of a pattern, including the target piece
+     * @return the pieces of every pattern, the target first
+     */
+    static List<int[]> patterns(BoardGeometry geometry, int patternSize) {
+        if (patternSize < 1) {
+            throw new IllegalArgumentException("A pattern must have at least one piece");
+        }
+        List<Integer> others = new ArrayList<>();
+        for (int piece = 0; piece < geometry.pieces(); piece++) {
+            if (piece != geometry.getTarget()) {
+                others.add(piece);
+            }
+        }
+        int groupSize = patternSize - 1;
+        if (groupSize == 0 || others.isEmpty()) {
+            return List.of(new int[]{geometry.getTarget()});
+        }
+        List<int[]> patterns = new ArrayList<>();
+        for (int from = 0; from < others.size(); from += groupSize) {
+            List<Integer> group = others.subList(from, Math.min(from + groupSize, others.size()));
+            int[] pattern = new int[group.size() + 1];
+            pattern[0] = geometry.getTarget();
+            for (int i = 0; i < group.size(); i++) {
+                pattern[i + 1] = group.get(i);
+            }
+            patterns.add(pattern);
+        }
+        return patterns;
+    }
+
+    /**
+     * Computes the patterns of a board.
+     *
+     * @param geometry the geometry of the board
+     * @param patternSize the number of pieces of a pattern, including the target piece
+     * @return the estimate
+     */
+    public static AdditivePatternDatabase build(BoardGeometry geometry, int patternSize) {
+        List<PatternDatabase> databases = new ArrayList<>();
+        for (int[] pattern : patterns(geometry, patternSize)) {
+            databases.add(PatternDatabase.build(geometry, pattern, databases.isEmpty()));
+        }
+        return new AdditivePatternDatabase(databases);
+    }
+
+    /**
+     * Memory-maps the patterns of a board from a directory, building and writing the ones
+     * that do not exist yet or were built for another board.
+     *
+     * @param directory the directory of the files
+     * @param geometry the geometry of the board
+     * @param patternSize the number of pieces of a pattern, including the target piece
+     * @return the estimate
+     * @throws IOException if a file cannot be read or written
+     */
+    public static AdditivePatternDatabase loadOrBuild(Path directory, BoardGeometry geometry, int patternSize)
+            throws IOException {
+        List<PatternDatabase> databases = new ArrayList<>();
+        List<int[]> patterns = patterns(geometry, patternSize);
+        for (int i = 0; i < patterns.size(); i++) {
+            Path path = directory.resolve(String.format("pattern-%08x-%d-%d.bin",
+                    geometry.getDefinition().hashCode(), patternSize, i));
+            if (Files.exists(path)) {
+                try {
+                    databases.add(PatternDatabase.load(path, geometry));
+                    continue;
+                } catch (IOException e) {
+                    log.warn("Rebuilding unreadable pattern database {}", path, e);
+                }
+            }
+            PatternDatabase database = PatternDatabase.build(geometry, patterns.get(i), i == 0);
+            database.writeTo(path);
+            databases.add(PatternDatabase.load(path, geometry));
+        }
+        return new AdditivePatternDatabase(databases);
+    }
+
+    /**
+     * Returns the lower bound of the number of moves needed to solve a board.
+     *
+     * @param board the board
+     * @return the sum of the distances of the patterns, or {@link #UNSOLVABLE} if any pattern cannot be solved
+     */
+    public int estimate(Board board) {
+        int sum = 0;
+        for (PatternDatabase database : databases) {
+            int distance = database.estimate(board);
+            if (distance == PatternDatabase.UNREACHABLE) {
+                return UNSOLVABLE;
+            }
+            sum += distance;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the pattern databases whose distances are added.
+     *
+     * @return the databases
+     */
+    public List<PatternDatabase> getDatabases() {
+        return databases;
+    }
+
+    /**
+     * Returns the number of bytes taken by the distances.
+     *
+     * @return the size of the databases
+     */
+    public long sizeBytes() {
+        return databases.stream().mapToLong(PatternDatabase::size).sum();
+    }
+}
@@ -0,0 +1,48 @@
+package com.krook1024.game.solver;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class represents the outcome of exploring every position reachable from a start position.
+ */
+@Value
+@Builder
+public class Exploration {
+    /**
+     * The number of distinct positions reached, including the start position.
+     */
+    long positions;
+
+    /**
+     * The number of solved positions among them.
+     */
+    long solvedPositions;
+
+    /**
+     * The number of positions first reached at each depth, starting with the start position at depth 0.
+     */
+    List<Integer> frontierSizes;
+
+    /**
+     * The number of worker threads used.
+     */
+    int parallelism;
+
+    /**
+     * The time spent exploring.
+     */
+    Duration elapsed;
+
+    /**
+     * Returns the number of positions explored per second.
+     *
+     * @return the throughput of the exploration
+     */
+    public double positionsPerSecond() {
+        return positions / (elapsed.toNanos() / 1e9);
+    }
+}
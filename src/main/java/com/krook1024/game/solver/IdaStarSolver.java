@@ -0,0 +1,273 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.board.Board;
+import com.krook1024.game.board.BoardDefinition;
+import com.krook1024.game.board.BoardGeometry;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.util.collections.LongIntHashMap;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Finds the shortest sequence of moves that solves a {@link Board} of any size with
+ * iterative-deepening A*.
+ *
+ * <p>Every iteration is a depth-first search that cuts off the positions whose number of
+ * moves made plus the estimate of an {@link AdditivePatternDatabase} exceeds a bound, and
+ * the next iteration raises the bound to the smallest value cut off. The search keeps only
+ * the current path, so its memory does not grow with the number of positions. Stepping a
+ * piece straight back is never tried, and a fixed-size table of the positions seen in the
+ * current iteration, overwritten on collision, cuts off positions reached again with no
+ * fewer moves. Moves are coded as in {@link Move#getCode()}.</p>
+ */
+@Slf4j
+public class IdaStarSolver {
+    /**
+     * The default number of bits of the size of the table of positions seen.
+     */
+    public static final int DEFAULT_TABLE_BITS = 22;
+
+    /**
+     * The longest solution searched for.
+     */
+    public static final int MAX_DEPTH = 254;
+
+    /**
+     * The number of positions expanded between checks of the time budget.
+     */
+    private static final int CHECK_INTERVAL = 1 << 12;
+
+    /**
+     * The number of positions expanded between progress reports.
+     */
+    private static final int REPORT_INTERVAL = 1 << 22;
+
+    private final AdditivePatternDatabase heuristic;
+
+    private final int tableBits;
+
+    /**
+     * This class represents the state of a running search.
+     */
+    @Value
+    public static class Progress {
+        /**
+         * The bound of the current iteration.
+         */
+        int bound;
+
+        /**
+         * The number of positions expanded so far.
+         */
+        long nodesExpanded;
+
+        /**
+         * The time spent searching so far.
+         */
+        Duration elapsed;
+    }
+
+    /**
+     * Initializes a solver with the default table size.
+     *
+     * @param heuristic the estimate of the number of moves needed to solve a position
+     */
+    public IdaStarSolver(AdditivePatternDatabase heuristic) {
+        this(heuristic, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Initializes a solver.
+     *
+     * @param heuristic the estimate of the number of moves needed to solve a position
+     * @param tableBits the number of bits of the size of the table of positions seen, 0 for no table
+     */
+    public IdaStarSolver(AdditivePatternDatabase heuristic, int tableBits) {
+        this.heuristic = heuristic;
+        this.tableBits = tableBits;
+    }
+
+    /**
+     * Returns the shortest sequence of moves that solves a board.
+     *
+     * @param start the board to solve, which is not modified
+     * @param budget the maximum time to search for
+     * @param progress called on the searching thread at the start of every iteration and
+     *                 regularly during an iteration
+     * @return the outcome of the search, not solved if the board cannot be solved or the
+     * budget has run out
+     */
+    public Solution solve(Board start, Duration budget, Consumer<Progress> progress) {
+        Search search = new Search(new Board(start), budget, progress);
+        return search.run();
+    }
+
+    private class Search {
+        private final Board board;
+
+        private final Consumer<Progress> progress;
+
+        private final long startTime = System.nanoTime();
+
+        private final long deadline;
+
+        private final int pieces;
+
+        private final int[] path = new int[MAX_DEPTH + 1];
+
+        private final long[] tableKeys;
+
+        private final byte[] tableDepths;
+
+        private int bound;
+
+        private int nextBound;
+
+        private int length = -1;
+
+        private long expanded;
+
+        private boolean timedOut;
+
+        Search(Board board, Duration budget, Consumer<Progress> progress) {
+            this.board = board;
+            this.progress = progress;
+            this.deadline = startTime + Math.min(budget.toNanos(), Long.MAX_VALUE / 2);
+            this.pieces = board.getGeometry().pieces();
+            boolean table = tableBits > 0 && board.getGeometry().isPackable();
+            this.tableKeys = table ? new long[1 << tableBits] : null;
+            this.tableDepths = table ? new byte[1 << tableBits] : null;
+        }
+
+        Solution run() {
+            bound = heuristic.estimate(board);
+            while (bound <= MAX_DEPTH && !timedOut) {
+                report();
+                if (tableKeys != null) {
+                    Arrays.fill(tableKeys, 0);
+                }
+                nextBound = Integer.MAX_VALUE;
+                if (search(0, -1)) {
+                    break;
+                }
+                bound = nextBound;
+            }
+            List<Move> moves = new ArrayList<>();
+            for (int i = 0; i < length; i++) {
+                moves.add(Move.ofCode(path[i]));
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+            log.info("{} after {} positions expanded in {} ms, {} moves",
+                    length >= 0 ? "Solved" : timedOut ? "Ran out of time" : "Found no solution",
+                    expanded, elapsed.toMillis(), length);
+            return Solution.builder()
+                    .solved(length >= 0)
+                    .moves(moves)
+                    .nodesExpanded(expanded)
+                    .positionsVisited(expanded)
+                    .peakMemoryBytes(heuristic.sizeBytes() + (tableKeys == null ? 0 : (long) tableKeys.length * (Long.BYTES + 1)))
+                    .elapsed(elapsed)
+                    .build();
+        }
+
+        private void report() {
+            progress.accept(new Progress(bound, expanded, Duration.ofNanos(System.nanoTime() - startTime)));
+        }
+
+        private boolean search(int depth, int previous) {
+            int estimate = heuristic.estimate(board);
+            if (estimate == AdditivePatternDatabase.UNSOLVABLE) {
+                return false;
+            }
+            if (depth + estimate > bound) {
+                nextBound = Math.min(nextBound, depth + estimate);
+                return false;
+            }
+            if (board.isSolved()) {
+                length = depth;
+                return true;
+            }
+            if (isSeen(depth)) {
+                return false;
+            }
+            if (++expanded % CHECK_INTERVAL == 0) {
+                if (System.nanoTime() - deadline > 0) {
+                    timedOut = true;
+                    return false;
+                }
+                if (expanded % REPORT_INTERVAL == 0) {
+                    report();
+                }
+            }
+            for (int piece = 0; piece < pieces; piece++) {
+                for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+                    int code = piece << 2 | direction;
+                    if (code == (previous ^ 1) || !board.move(piece, direction)) {
+                        continue;
+                    }
+                    path[depth] = code;
+                    boolean found = search(depth + 1, code);
+                    board.move(piece, direction ^ 1);
+                    if (found) {
+                        return true;
+                    }
+                    if (timedOut) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Looks the board up in the table of positions seen, and records it if it has not
+         * been seen with fewer moves.
+         *
+         * @return whether the board has been seen with no more moves in this iteration
+         */
+        private boolean isSeen(int depth) {
+            if (tableKeys == null) {
+                return false;
+            }
+            long key = board.pack() + 1;
+            int slot = (int) LongIntHashMap.mix(key) & (tableKeys.length - 1);
+            if (tableKeys[slot] == key && (tableDepths[slot] & 0xFF) <= depth) {
+                return true;
+            }
+            tableKeys[slot] = key;
+            tableDepths[slot] = (byte) depth;
+            return false;
+        }
+    }
+
+    /**
+     * Solves a board defined by a resource and prints the progress of the search.
+     *
+     * @param args the resource of the board, {@link BoardDefinition#STANDARD} if missing,
+     *             then the time budget in seconds, 60 if missing
+     * @throws IOException if the pattern databases cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        BoardGeometry geometry = new BoardGeometry(BoardDefinition.load(args.length > 0 ? args[0] : BoardDefinition.STANDARD));
+        Duration budget = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 60);
+        Path directory = Paths.get(System.getProperty("user.home"), ".slider-game", "patterns");
+        AdditivePatternDatabase heuristic = AdditivePatternDatabase.loadOrBuild(directory, geometry,
+                AdditivePatternDatabase.maxPatternSize(geometry));
+        Board board = new Board(geometry);
+        System.out.print(board);
+        Solution solution = new IdaStarSolver(heuristic).solve(board, budget, p -> System.out.printf(
+                "bound %d, %,d positions expanded in %d ms%n", p.getBound(), p.getNodesExpanded(), p.getElapsed().toMillis()));
+        System.out.printf("%s in %d moves, %,d positions expanded in %d ms%n",
+                solution.isSolved() ? "Solved" : "Not solved", solution.getMoves().size(),
+                solution.getNodesExpanded(), solution.getElapsed().toMillis());
+    }
+}
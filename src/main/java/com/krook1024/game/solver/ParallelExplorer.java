@@ -0,0 +1,185 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Direction;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.collections.ConcurrentLongHashSet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Explores every position reachable from a start position breadth-first, expanding each
+ * frontier in parallel.
+ *
+ * <p>A frontier is an array of packed {@link Bitboard} keys that is split into chunks on a
+ * {@link ForkJoinPool}. Each chunk generates the moves of its positions and keeps the ones a
+ * shared {@link ConcurrentLongHashSet} has not seen yet, and the chunks' results are joined
+ * into the next frontier. The pool is shut down when the explorer is closed.</p>
+ */
+@Slf4j
+public class ParallelExplorer implements AutoCloseable {
+    private static final int CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Initializes an explorer that uses every available processor.
+     */
+    public ParallelExplorer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes an explorer that uses the given number of worker threads.
+     *
+     * @param parallelism the number of worker threads
+     */
+    public ParallelExplorer(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Explores every position reachable from a state.
+     *
+     * @param start the start state
+     * @return the outcome of the exploration
+     */
+    public Exploration explore(SliderState start) {
+        return explore(Bitboard.of(start).pack());
+    }
+
+    /**
+     * Explores every position reachable from the position encoded in a packed key.
+     *
+     * @param start the packed key of the start position
+     * @return the outcome of the exploration
+     */
+    public Exploration explore(long start) {
+        long startTime = System.nanoTime();
+        ConcurrentLongHashSet visited = new ConcurrentLongHashSet(pool.getParallelism(), 1 << 12);
+        LongAdder solved = new LongAdder();
+        List<Integer> frontierSizes = new ArrayList<>();
+
+        visited.add(start);
+        long[] frontier = {start};
+        while (frontier.length > 0) {
+            long levelStart = System.nanoTime();
+            frontierSizes.add(frontier.length);
+            long[] next = pool.invoke(new ExpandTask(frontier, 0, frontier.length, visited, solved));
+            long levelNanos = System.nanoTime() - levelStart;
+            log.info("Depth {}: frontier of {} positions expanded in {} us ({} positions/s)",
+                    frontierSizes.size() - 1, frontier.length, levelNanos / 1000,
+                    (long) (frontier.length / (levelNanos / 1e9)));
+            frontier = next;
+        }
+
+        Exploration exploration = Exploration.builder()
+                .positions(visited.size())
+                .solvedPositions(solved.sum())
+                .frontierSizes(List.copyOf(frontierSizes))
+                .parallelism(pool.getParallelism())
+                .elapsed(Duration.ofNanos(System.nanoTime() - startTime))
+                .build();
+        log.info("Explored {} positions in {} ms with {} threads ({} positions/s)",
+                exploration.getPositions(), exploration.getElapsed().toMillis(),
+                exploration.getParallelism(), (long) exploration.positionsPerSecond());
+        return exploration;
+    }
+
+    /**
+     * Expands a range of a frontier, splitting it in half until it is at most {@code CHUNK_SIZE} long.
+     */
+    private static class ExpandTask extends RecursiveTask<long[]> {
+        private final long[] frontier;
+
+        private final int from;
+
+        private final int to;
+
+        private final ConcurrentLongHashSet visited;
+
+        private final LongAdder solved;
+
+        ExpandTask(long[] frontier, int from, int to, ConcurrentLongHashSet visited, LongAdder solved) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.visited = visited;
+            this.solved = solved;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                ExpandTask left = new ExpandTask(frontier, from, middle, visited, solved);
+                left.fork();
+                long[] right = new ExpandTask(frontier, middle, to, visited, solved).compute();
+                long[] joined = left.join();
+                long[] result = Arrays.copyOf(joined, joined.length + right.length);
+                System.arraycopy(right, 0, result, joined.length, right.length);
+                return result;
+            }
+
+            long[] found = new long[(to - from) * 4];
+            int count = 0;
+            long solvedCount = 0;
+            for (int i = from; i < to; i++) {
+                long key = frontier[i];
+                long occupancy = Bitboard.occupancyOf(key);
+                if (Bitboard.isSolvedPacked(key, occupancy)) {
+                    solvedCount++;
+                }
+                for (int tile = 0, tiles = Bitboard.packedSize(key); tile < tiles; tile++) {
+                    for (Direction direction : Move.DIRECTIONS) {
+                        long next = Bitboard.stepPacked(key, occupancy, tile, direction, Move.axisOf(direction));
+                        if (next != key && visited.add(next)) {
+                            if (count == found.length) {
+                                found = Arrays.copyOf(found, count * 2);
+                            }
+                            found[count++] = next;
+                        }
+                    }
+                }
+            }
+            solved.add(solvedCount);
+            return Arrays.copyOf(found, count);
+        }
+    }
+
+    /**
+     * Shuts down the worker threads of the explorer.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Explores the positions reachable from {@link SliderState#INITIAL} with an increasing
+     * number of threads and prints the throughput of each run.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            Exploration exploration;
+            try (ParallelExplorer explorer = new ParallelExplorer(threads)) {
+                exploration = explorer.explore(new SliderState(SliderState.INITIAL));
+            }
+            System.out.printf("%2d threads: %d positions, %d levels, frontiers %s, %d ms, %,.0f positions/s%n",
+                    threads, exploration.getPositions(), exploration.getFrontierSizes().size(),
+                    exploration.getFrontierSizes(), exploration.getElapsed().toMillis(),
+                    exploration.positionsPerSecond());
+        }
+    }
+}
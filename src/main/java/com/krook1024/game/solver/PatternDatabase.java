@@ -0,0 +1,395 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.board.Board;
+import com.krook1024.game.board.BoardGeometry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The distances to the solution of a board in which only some of the pieces are kept.
+ *
+ * <p>The pattern is the target piece and some other pieces. Leaving the other pieces out only
+ * removes obstacles, so the number of moves a pattern needs to reach a placement that could
+ * be part of a solution never exceeds the number of moves the whole board needs. A placement
+ * could be part of a solution if the target piece is off the edge and the cells around it
+ * that the pattern does not cover are no more than the cells of the pieces left out. Only
+ * the moves of the pattern pieces are counted, optionally except those of the target piece,
+ * so the distances of patterns that share nothing but the target piece, of which only one
+ * counts the target piece, can be added up, see {@link AdditivePatternDatabase}.</p>
+ *
+ * <p>The distances are a byte per placement, indexed by the anchors of the pattern pieces as
+ * the digits of a number in base {@link BoardGeometry#getCells()}. They are computed by a
+ * breadth-first search from all the solution placements at once, in which moves of the
+ * target piece that are not counted keep the distance of the level being expanded, and
+ * distances beyond {@link #MAX_DISTANCE} are stored as {@link #MAX_DISTANCE}. Files
+ * written by {@link #writeTo(Path)} are memory-mapped by {@link #load(Path, BoardGeometry)}.</p>
+ */
+@Slf4j
+public final class PatternDatabase {
+    /**
+     * The maximum number of placements of a pattern.
+     */
+    public static final int MAX_ENTRIES = 1 << 24;
+
+    /**
+     * The distance of placements from which no solution placement can be reached.
+     */
+    public static final int UNREACHABLE = 0xFF;
+
+    /**
+     * The largest distance stored. Placements that are farther from the solution are stored
+     * with this distance, which is still a lower bound.
+     */
+    public static final int MAX_DISTANCE = UNREACHABLE - 1;
+
+    static final int MAGIC = 0x50444231;
+
+    static final int VERSION = 1;
+
+    private final int[] pieces;
+
+    private final boolean countingTarget;
+
+    private final int fingerprint;
+
+    private final int cells;
+
+    private final ByteBuffer distances;
+
+    private PatternDatabase(int[] pieces, boolean countingTarget, int fingerprint, int cells, ByteBuffer distances) {
+        this.pieces = pieces;
+        this.countingTarget = countingTarget;
+        this.fingerprint = fingerprint;
+        this.cells = cells;
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the number of placements of a number of pieces on a board.
+     *
+     * @param geometry the geometry of the board
+     * @param pieces the number of pieces
+     * @return the number of entries of a pattern of {@code pieces} pieces
+     */
+    public static long entries(BoardGeometry geometry, int pieces) {
+        long entries = 1;
+        for (int i = 0; i < pieces; i++) {
+            entries *= geometry.getCells();
+        }
+        return entries;
+    }
+
+    /**
+     * Computes the distances of a pattern.
+     *
+     * @param geometry the geometry of the board
+     * @param pieces the indices of the pieces of the pattern, the first of which must be the target piece
+     * @param countingTarget whether the moves of the target piece are counted
+     * @return the pattern database
+     * @throws IllegalArgumentException if the first piece is not the target or the pattern has too many placements
+     */
+    public static PatternDatabase build(BoardGeometry geometry, int[] pieces, boolean countingTarget) {
+        return build(geometry, pieces, countingTarget, MAX_DISTANCE);
+    }
+
+    static PatternDatabase build(BoardGeometry geometry, int[] pieces, boolean countingTarget, int maxDistance) {
+        if (pieces.length == 0 || pieces[0] != geometry.getTarget()) {
+            throw new IllegalArgumentException("The first piece of a pattern must be the target");
+        }
+        long entries = entries(geometry, pieces.length);
+        if (entries > MAX_ENTRIES) {
+            throw new IllegalArgumentException("A pattern of " + pieces.length + " pieces has " + entries + " placements");
+        }
+        long startTime = System.nanoTime();
+        byte[] distances = new Builder(geometry, pieces, countingTarget, maxDistance, (int) entries).build();
+        PatternDatabase database = new PatternDatabase(pieces.clone(), countingTarget,
+                geometry.getDefinition().hashCode(), geometry.getCells(), ByteBuffer.wrap(distances));
+        log.info("Built pattern database of pieces {} with {} entries in {} ms", Arrays.toString(pieces), entries,
+                (System.nanoTime() - startTime) / 1000000);
+        return database;
+    }
+
+    /**
+     * The breadth-first search filling the distances.
+     */
+    private static class Builder {
+        private final BoardGeometry geometry;
+
+        private final int[] pieces;
+
+        private final boolean countingTarget;
+
+        private final byte[] distances;
+
+        private final int[] powers;
+
+        private final int[] anchors;
+
+        private final long[] occupancy;
+
+        private final int capacity;
+
+        private final int maxDistance;
+
+        private int[] current = new int[1 << 12];
+
+        private int currentSize;
+
+        private int[] next = new int[1 << 12];
+
+        private int nextSize;
+
+        Builder(BoardGeometry geometry, int[] pieces, boolean countingTarget, int maxDistance, int entries) {
+            this.geometry = geometry;
+            this.pieces = pieces;
+            this.countingTarget = countingTarget;
+            this.maxDistance = maxDistance;
+            this.distances = new byte[entries];
+            this.powers = new int[pieces.length];
+            this.anchors = new int[pieces.length];
+            this.occupancy = new long[geometry.getWords()];
+            for (int i = 0, power = 1; i < pieces.length; i++, power *= geometry.getCells()) {
+                powers[i] = power;
+            }
+            int outside = 0;
+            boolean[] inPattern = new boolean[geometry.pieces()];
+            for (int piece : pieces) {
+                inPattern[piece] = true;
+            }
+            for (int piece = 0; piece < geometry.pieces(); piece++) {
+                if (!inPattern[piece]) {
+                    outside += geometry.shape(piece).length;
+                }
+            }
+            this.capacity = outside;
+        }
+
+        byte[] build() {
+            Arrays.fill(distances, (byte) UNREACHABLE);
+            for (int index = 0; index < distances.length; index++) {
+                if (place(index) && isSolution()) {
+                    distances[index] = 0;
+                    current = push(current, currentSize++, index);
+                }
+            }
+            // Levels past the maximum distance are still expanded, so that every reachable placement
+            // gets a distance, but they all store the maximum
+            for (int level = 0; currentSize > 0; level++) {
+                int stored = Math.min(level, maxDistance);
+                for (int head = 0; head < currentSize; head++) {
+                    int index = current[head];
+                    if ((distances[index] & 0xFF) == stored) {
+                        expand(index, level);
+                    }
+                }
+                int[] swap = current;
+                current = next;
+                currentSize = nextSize;
+                next = swap;
+                nextSize = 0;
+            }
+            return distances;
+        }
+
+        private static int[] push(int[] queue, int size, int index) {
+            if (size == queue.length) {
+                queue = Arrays.copyOf(queue, size * 2);
+            }
+            queue[size] = index;
+            return queue;
+        }
+
+        /**
+         * Decodes the anchors of a placement and marks the cells they cover.
+         *
+         * @return whether the placement is valid, with every piece on the board and none overlapping
+         */
+        private boolean place(int index) {
+            Arrays.fill(occupancy, 0);
+            for (int i = 0; i < pieces.length; i++) {
+                int anchor = index / powers[i] % geometry.getCells();
+                if (!geometry.isValidAnchor(pieces[i], anchor)) {
+                    return false;
+                }
+                anchors[i] = anchor;
+                for (int offset : geometry.shape(pieces[i])) {
+                    int cell = anchor + offset;
+                    if ((occupancy[cell >>> 6] & (1L << cell)) != 0) {
+                        return false;
+                    }
+                    occupancy[cell >>> 6] |= 1L << cell;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSolution() {
+            int target = anchors[0];
+            if (!geometry.isSolvable(target)) {
+                return false;
+            }
+            int uncovered = 0;
+            for (int offset : geometry.around()) {
+                int cell = target + offset;
+                if ((occupancy[cell >>> 6] & (1L << cell)) == 0) {
+                    uncovered++;
+                }
+            }
+            return uncovered <= capacity;
+        }
+
+        private void expand(int index, int level) {
+            place(index);
+            for (int i = 0; i < pieces.length; i++) {
+                int cost = i == 0 && !countingTarget ? 0 : 1;
+                for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                    int anchor = geometry.next(pieces[i], anchors[i], d);
+                    if (anchor == -1 || !isFree(i, d)) {
+                        continue;
+                    }
+                    int neighbour = index + (anchor - anchors[i]) * powers[i];
+                    int distance = Math.min(level + cost, maxDistance);
+                    if ((distances[neighbour] & 0xFF) <= distance) {
+                        continue;
+                    }
+                    distances[neighbour] = (byte) distance;
+                    if (cost == 0) {
+                        current = push(current, currentSize++, neighbour);
+                    } else {
+                        next = push(next, nextSize++, neighbour);
+                    }
+                }
+            }
+        }
+
+        private boolean isFree(int i, int direction) {
+            for (int offset : geometry.leading(pieces[i], direction)) {
+                int cell = anchors[i] + offset;
+                if ((occupancy[cell >>> 6] & (1L << cell)) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the distance of the placement of the pattern pieces on a board.
+     *
+     * @param board the board
+     * @return the lower bound of the number of counted moves to the solution, or {@link #UNREACHABLE}
+     */
+    public int estimate(Board board) {
+        int index = 0;
+        for (int i = pieces.length - 1; i >= 0; i--) {
+            index = index * cells + board.getAnchor(pieces[i]);
+        }
+        return distances.get(index) & 0xFF;
+    }
+
+    /**
+     * Returns the indices of the pieces of the pattern.
+     *
+     * @return the pieces of the pattern, the target first
+     */
+    public int[] getPieces() {
+        return pieces.clone();
+    }
+
+    /**
+     * Tells whether the moves of the target piece are counted.
+     *
+     * @return whether the target piece is counted
+     */
+    public boolean isCountingTarget() {
+        return countingTarget;
+    }
+
+    /**
+     * Returns the number of placements of the pattern.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return distances.capacity();
+    }
+
+    /**
+     * Writes the database to a file, replacing it atomically if it exists.
+     *
+     * <p>The file starts with a header of {@code MAGIC}, {@code VERSION}, the hash of the
+     * board definition, the number of cells, the number of pieces, whether the target piece
+     * is counted and the indices of the pieces, followed by the distances. Every number is
+     * big-endian.</p>
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "pattern", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(fingerprint);
+            out.writeInt(cells);
+            out.writeInt(pieces.length);
+            out.writeBoolean(countingTarget);
+            for (int piece : pieces) {
+                out.writeInt(piece);
+            }
+            ByteBuffer source = distances.duplicate();
+            source.clear();
+            byte[] chunk = new byte[1 << 16];
+            while (source.hasRemaining()) {
+                int length = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote pattern database to {}", path);
+    }
+
+    /**
+     * Memory-maps a database file.
+     *
+     * @param path the path of the file
+     * @param geometry the geometry of the board the database must have been built for
+     * @return the database stored in the file
+     * @throws IOException if the file cannot be read, is not a database file or was built for another board
+     */
+    public static PatternDatabase load(Path path, BoardGeometry geometry) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 5 * Integer.BYTES + 1 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a pattern database: " + path);
+            }
+            int fingerprint = buffer.getInt();
+            int cells = buffer.getInt();
+            if (fingerprint != geometry.getDefinition().hashCode() || cells != geometry.getCells()) {
+                throw new IOException("Pattern database built for another board: " + path);
+            }
+            int[] pieces = new int[buffer.getInt()];
+            boolean countingTarget = buffer.get() != 0;
+            for (int i = 0; i < pieces.length; i++) {
+                pieces[i] = buffer.getInt();
+            }
+            if (buffer.remaining() != entries(geometry, pieces.length)) {
+                throw new IOException("Truncated pattern database: " + path);
+            }
+            return new PatternDatabase(pieces, countingTarget, fingerprint, cells, buffer.slice());
+        }
+    }
+}
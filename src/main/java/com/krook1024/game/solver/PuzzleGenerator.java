@@ -0,0 +1,210 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.state.Tile;
+import com.krook1024.game.state.TileGeometry;
+import com.krook1024.game.state.TileType;
+import com.krook1024.game.util.collections.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Generates starting positions whose shortest solution has a given length.
+ *
+ * <p>Every solved placement of the tiles is enumerated, and a breadth-first search run
+ * from all of them at once walks backwards to every position the puzzle can be solved
+ * from. Every move can be undone, so the level a position is first reached at is the
+ * length of its shortest solution. The positions are kept as packed {@link Bitboard} keys
+ * in the order they were reached, so the positions of a range of depths are a contiguous
+ * slice of an array, and picking one is a single random index.</p>
+ */
+@Slf4j
+public class PuzzleGenerator {
+    private final TileType[] types;
+
+    private final LongIntHashMap depths;
+
+    private long[] keys;
+
+    private int size;
+
+    /**
+     * The index in {@code keys} of the first position of every depth, followed by {@code size}.
+     */
+    private int[] firstOfDepth;
+
+    /**
+     * Initializes a generator for the tiles of {@link SliderState#INITIAL}.
+     */
+    public PuzzleGenerator() {
+        this(SliderState.INITIAL.stream().map(Tile::getType).collect(Collectors.toList()));
+    }
+
+    /**
+     * Initializes a generator, computing the depth of every position the tiles can be solved from.
+     *
+     * @param types the types of the tiles, the last one being the tile that has to be surrounded
+     */
+    public PuzzleGenerator(List<TileType> types) {
+        if (types.isEmpty() || types.size() > Bitboard.MAX_TILES) {
+            throw new IllegalArgumentException();
+        }
+        this.types = types.toArray(new TileType[0]);
+        this.depths = new LongIntHashMap(1 << 16);
+        this.keys = new long[1 << 12];
+        long startTime = System.nanoTime();
+        placeSolved(0, 0, 0);
+        search();
+        log.info("Found {} positions up to {} moves from solved in {} ms", size, getMaxDepth(),
+                (System.nanoTime() - startTime) / 1000000);
+    }
+
+    /**
+     * Places the tiles from {@code index} on in every way that does not overlap the tiles
+     * placed so far, and adds the placements that are solved.
+     */
+    private void placeSolved(int index, long key, long occupancy) {
+        if (index == types.length) {
+            if (Bitboard.isSolvedPacked(key, occupancy)) {
+                add(key, 0);
+            }
+            return;
+        }
+        for (int anchor = 0; anchor < Bitboard.CELLS; anchor++) {
+            long mask = TileGeometry.mask(types[index], anchor);
+            if (mask == 0 || (mask & occupancy) != 0) {
+                continue;
+            }
+            if (index == types.length - 1 && TileGeometry.solveNeighbours(types[index], anchor) == TileGeometry.UNSOLVABLE) {
+                continue;
+            }
+            placeSolved(index + 1, key | (long) (types[index].ordinal() << 5 | anchor) << (8 * index), occupancy | mask);
+        }
+    }
+
+    private void add(long key, int depth) {
+        if (depths.putIfAbsent(key, depth)) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+    }
+
+    private void search() {
+        List<Integer> levels = new ArrayList<>();
+        int head = 0;
+        for (int depth = 0; head < size; depth++) {
+            levels.add(head);
+            for (int end = size; head < end; head++) {
+                long key = keys[head];
+                long occupancy = Bitboard.occupancyOf(key);
+                for (int tile = 0; tile < types.length; tile++) {
+                    for (int d = 0; d < Move.DIRECTIONS.size(); d++) {
+                        long next = Bitboard.stepPacked(key, occupancy, tile, Move.DIRECTIONS.get(d),
+                                Move.axisOf(Move.DIRECTIONS.get(d)));
+                        if (next != key) {
+                            add(next, depth + 1);
+                        }
+                    }
+                }
+            }
+        }
+        levels.add(size);
+        firstOfDepth = levels.stream().mapToInt(Integer::intValue).toArray();
+        keys = Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Returns the number of positions the puzzle can be solved from, including the solved ones.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the longest shortest solution of any position.
+     *
+     * @return the maximum depth
+     */
+    public int getMaxDepth() {
+        return firstOfDepth.length - 2;
+    }
+
+    /**
+     * Returns the number of positions whose shortest solution has a given length.
+     *
+     * @param depth the length of the shortest solution
+     * @return the number of positions at {@code depth}
+     */
+    public int countAtDepth(int depth) {
+        if (depth < 0 || depth > getMaxDepth()) {
+            return 0;
+        }
+        return firstOfDepth[depth + 1] - firstOfDepth[depth];
+    }
+
+    /**
+     * Returns the length of the shortest solution of a state.
+     *
+     * @param state the state, with the tile types of this generator in the same order
+     * @return the number of moves needed to solve {@code state}, or -1 if it cannot be solved
+     */
+    public int depthOf(SliderState state) {
+        return depths.get(Bitboard.of(state).pack());
+    }
+
+    /**
+     * Picks a random position whose shortest solution is within a range of lengths.
+     *
+     * @param minDepth the minimum length of the shortest solution
+     * @param maxDepth the maximum length of the shortest solution, capped at {@link #getMaxDepth()}
+     * @param random the source of randomness
+     * @return the packed {@link Bitboard} key of the position
+     * @throws IllegalArgumentException if there is no position in the range
+     */
+    public long generateKey(int minDepth, int maxDepth, SplittableRandom random) {
+        int from = firstOfDepth[Math.max(0, Math.min(minDepth, getMaxDepth() + 1))];
+        int to = firstOfDepth[Math.max(0, Math.min(maxDepth, getMaxDepth()) + 1)];
+        if (minDepth > maxDepth || from >= to) {
+            throw new IllegalArgumentException("No position is " + minDepth + " to " + maxDepth + " moves from solved");
+        }
+        return keys[random.nextInt(from, to)];
+    }
+
+    /**
+     * Generates a random starting state whose shortest solution is within a range of lengths.
+     *
+     * @param minDepth the minimum length of the shortest solution
+     * @param maxDepth the maximum length of the shortest solution, capped at {@link #getMaxDepth()}
+     * @param random the source of randomness
+     * @return the generated state
+     * @throws IllegalArgumentException if there is no position in the range
+     */
+    public SliderState generate(int minDepth, int maxDepth, SplittableRandom random) {
+        return Bitboard.unpack(generateKey(minDepth, maxDepth, random)).toSliderState();
+    }
+
+    /**
+     * Prints the number of positions at every depth.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        for (int depth = 0; depth <= generator.getMaxDepth(); depth++) {
+            System.out.printf("%3d %,d%n", depth, generator.countAtDepth(depth));
+        }
+        System.out.printf("%,d positions, the initial one is %d moves from solved%n",
+                generator.size(), generator.depthOf(new SliderState(SliderState.INITIAL)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Move;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class represents the outcome of a search for a solution.
+ */
+@Value
+@Builder
+public class Solution {
+    /**
+     * Indicates whether a solved position has been reached.
+     */
+    boolean solved;
+
+    /**
+     * The shortest sequence of moves leading to a solved position, empty if there is none.
+     */
+    List<Move> moves;
+
+    /**
+     * The number of positions whose moves have been generated.
+     */
+    long nodesExpanded;
+
+    /**
+     * The number of distinct positions seen.
+     */
+    long positionsVisited;
+
+    /**
+     * The peak number of bytes taken by the search structures.
+     */
+    long peakMemoryBytes;
+
+    /**
+     * The time spent searching.
+     */
+    Duration elapsed;
+}
@@ -0,0 +1,105 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.collections.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the shortest sequence of moves that solves a {@link SliderState}.
+ *
+ * <p>The search is a breadth-first search over packed {@link Bitboard} keys. Every position
+ * seen is appended to a queue of keys, together with the index of the position it was
+ * reached from and the code of the {@link Move} that led to it, and a {@link LongIntHashMap}
+ * from key to queue index serves as the visited set.</p>
+ */
+@Slf4j
+public class Solver {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    /**
+     * Returns the shortest sequence of moves that solves a state.
+     *
+     * @param state the state to solve
+     * @return the outcome of the search
+     */
+    public Solution solve(SliderState state) {
+        return solve(Bitboard.of(state).pack());
+    }
+
+    /**
+     * Returns the shortest sequence of moves that solves the position encoded in a packed key.
+     *
+     * @param start the packed key of the position to solve
+     * @return the outcome of the search
+     */
+    public Solution solve(long start) {
+        long startTime = System.nanoTime();
+        int tiles = Bitboard.packedSize(start);
+
+        long[] queue = new long[INITIAL_CAPACITY];
+        int[] parents = new int[INITIAL_CAPACITY];
+        byte[] moves = new byte[INITIAL_CAPACITY];
+        LongIntHashMap visited = new LongIntHashMap(INITIAL_CAPACITY);
+
+        queue[0] = start;
+        parents[0] = -1;
+        visited.putIfAbsent(start, 0);
+        int tail = 1;
+        int found = -1;
+        long expanded = 0;
+
+        for (int head = 0; head < tail && found == -1; head++) {
+            long key = queue[head];
+            long occupancy = Bitboard.occupancyOf(key);
+            if (Bitboard.isSolvedPacked(key, occupancy)) {
+                found = head;
+                break;
+            }
+            expanded++;
+            for (int tile = 0; tile < tiles; tile++) {
+                for (int d = 0; d < Move.DIRECTIONS.size(); d++) {
+                    long next = Bitboard.stepPacked(key, occupancy, tile, Move.DIRECTIONS.get(d),
+                            Move.axisOf(Move.DIRECTIONS.get(d)));
+                    if (next == key || !visited.putIfAbsent(next, tail)) {
+                        continue;
+                    }
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                        parents = Arrays.copyOf(parents, tail * 2);
+                        moves = Arrays.copyOf(moves, tail * 2);
+                    }
+                    queue[tail] = next;
+                    parents[tail] = head;
+                    moves[tail] = (byte) (tile << 2 | d);
+                    tail++;
+                }
+            }
+        }
+
+        List<Move> path = new ArrayList<>();
+        for (int i = found; i > 0; i = parents[i]) {
+            path.add(Move.ofCode(moves[i]));
+        }
+        Collections.reverse(path);
+
+        long memory = (long) queue.length * (Long.BYTES + Integer.BYTES + Byte.BYTES) + visited.memoryBytes();
+        Solution solution = Solution.builder()
+                .solved(found != -1)
+                .moves(List.copyOf(path))
+                .nodesExpanded(expanded)
+                .positionsVisited(tail)
+                .peakMemoryBytes(memory)
+                .elapsed(Duration.ofNanos(System.nanoTime() - startTime))
+                .build();
+        log.debug("Search finished: {}", solution);
+        return solution;
+    }
+}
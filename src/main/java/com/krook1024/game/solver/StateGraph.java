@@ -0,0 +1,228 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.collections.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * The precomputed graph of every position reachable from a start position, memory-mapped
+ * from the file written by {@link StateGraphBuilder}.
+ *
+ * <p>Looking up a position is a probe of the hash table stored in the file, so the distance
+ * to the nearest solved position and the move leading towards it are found in constant time
+ * without running a search.</p>
+ */
+@Slf4j
+public class StateGraph {
+    /**
+     * The default location of the graph of the positions reachable from {@link SliderState#INITIAL}.
+     */
+    public static final Path DEFAULT_PATH = Paths.get(System.getProperty("user.home"), ".slider-game", "state-graph.bin");
+
+    private final long start;
+
+    private final int size;
+
+    private final int moveCount;
+
+    private final int mask;
+
+    private final LongBuffer slots;
+
+    private final LongBuffer keys;
+
+    private final IntBuffer slotIds;
+
+    private final IntBuffer neighbours;
+
+    private final ByteBuffer distances;
+
+    private final ByteBuffer bestMoves;
+
+    private StateGraph(MappedByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < StateGraphBuilder.HEADER_BYTES
+                || buffer.getInt() != StateGraphBuilder.MAGIC || buffer.getInt() != StateGraphBuilder.VERSION) {
+            throw new IOException("Not a state graph file");
+        }
+        start = buffer.getLong();
+        size = buffer.getInt();
+        moveCount = buffer.getInt();
+        int capacity = buffer.getInt();
+        mask = capacity - 1;
+        if (size < 0 || moveCount < 0 || capacity < size || Integer.bitCount(capacity) != 1
+                || buffer.capacity() != StateGraphBuilder.HEADER_BYTES
+                + (long) capacity * (Long.BYTES + Integer.BYTES)
+                + (long) size * (Long.BYTES + (long) moveCount * Integer.BYTES + 2)) {
+            throw new IOException("Truncated state graph file");
+        }
+
+        int offset = StateGraphBuilder.HEADER_BYTES;
+        slots = slice(buffer, offset, capacity * Long.BYTES).asLongBuffer();
+        offset += capacity * Long.BYTES;
+        keys = slice(buffer, offset, size * Long.BYTES).asLongBuffer();
+        offset += size * Long.BYTES;
+        slotIds = slice(buffer, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        neighbours = slice(buffer, offset, size * moveCount * Integer.BYTES).asIntBuffer();
+        offset += size * moveCount * Integer.BYTES;
+        distances = slice(buffer, offset, size);
+        offset += size;
+        bestMoves = slice(buffer, offset, size);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset).limit(offset + length);
+        return duplicate.slice();
+    }
+
+    /**
+     * Memory-maps a graph file.
+     *
+     * @param path the path of the file
+     * @return the graph stored in the file
+     * @throws IOException if the file cannot be read or is not a graph file
+     */
+    public static StateGraph load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new StateGraph(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Memory-maps a graph file, building and writing it first if it does not exist yet
+     * or was built from another start state.
+     *
+     * @param path the path of the file
+     * @param start the start state of the graph
+     * @return the graph of the positions reachable from {@code start}
+     * @throws IOException if the file cannot be read or written
+     */
+    public static StateGraph loadOrBuild(Path path, SliderState start) throws IOException {
+        long startKey = Bitboard.of(start).pack();
+        if (Files.exists(path)) {
+            try {
+                StateGraph graph = load(path);
+                if (graph.start == startKey) {
+                    return graph;
+                }
+            } catch (IOException e) {
+                log.warn("Rebuilding unreadable state graph {}", path, e);
+            }
+        }
+        new StateGraphBuilder(start).build().writeTo(path);
+        return load(path);
+    }
+
+    /**
+     * Memory-maps the graph of the positions reachable from {@link SliderState#INITIAL}
+     * at {@link #DEFAULT_PATH}, building it on first use.
+     *
+     * @return the default graph
+     * @throws IOException if the file cannot be read or written
+     */
+    public static StateGraph loadDefault() throws IOException {
+        return loadOrBuild(DEFAULT_PATH, new SliderState(SliderState.INITIAL));
+    }
+
+    /**
+     * Returns the number of positions in the graph.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the dense id of a position.
+     *
+     * @param key the packed {@link Bitboard} key of the position
+     * @return the id of the position, or -1 if it is not in the graph
+     */
+    public int idOf(long key) {
+        int slot = (int) LongIntHashMap.mix(key) & mask;
+        long stored;
+        while ((stored = slots.get(slot)) != 0) {
+            if (stored == key) {
+                return slotIds.get(slot);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the packed {@link Bitboard} key of a position.
+     *
+     * @param id the id of the position
+     * @return the packed key of the position
+     */
+    public long keyOf(int id) {
+        return keys.get(id);
+    }
+
+    /**
+     * Returns the position reached from a position by a move.
+     *
+     * @param id the id of the position
+     * @param moveCode the code of the move, as returned by {@link Move#getCode()}
+     * @return the id of the position reached, or -1 if the tile cannot move
+     */
+    public int neighbour(int id, int moveCode) {
+        return neighbours.get(id * moveCount + moveCode);
+    }
+
+    /**
+     * Returns the number of moves needed to solve a position.
+     *
+     * @param id the id of the position
+     * @return the number of moves to the nearest solved position, or -1 if there is none
+     */
+    public int distanceToSolve(int id) {
+        int distance = distances.get(id) & 0xFF;
+        return distance == StateGraphBuilder.UNSOLVABLE ? -1 : distance;
+    }
+
+    /**
+     * Returns the number of moves needed to solve a state.
+     *
+     * @param state the state
+     * @return the number of moves to the nearest solved position, or -1 if there is none
+     * or the state is not in the graph
+     */
+    public int distanceToSolve(SliderState state) {
+        int id = idOf(Bitboard.of(state).pack());
+        return id == -1 ? -1 : distanceToSolve(id);
+    }
+
+    /**
+     * Returns a move that takes a state one move closer to being solved.
+     *
+     * @param state the state
+     * @return the best move, or an empty {@link Optional} if the state is solved,
+     * cannot be solved or is not in the graph
+     */
+    public Optional<Move> bestMove(SliderState state) {
+        int id = idOf(Bitboard.of(state).pack());
+        if (id == -1) {
+            return Optional.empty();
+        }
+        int code = bestMoves.get(id) & 0xFF;
+        return code == StateGraphBuilder.NO_MOVE ? Optional.empty() : Optional.of(Move.ofCode(code));
+    }
+}
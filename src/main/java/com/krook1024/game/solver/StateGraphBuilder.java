@@ -0,0 +1,230 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.collections.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Enumerates every position reachable from a start position and writes the move graph,
+ * together with the distance of every position to the nearest solved one, to the file
+ * read by {@link StateGraph}.
+ *
+ * <p>The file starts with a header of {@code MAGIC}, {@code VERSION}, the packed start key,
+ * the number of positions, the number of moves per position and the capacity of the hash
+ * table. It is followed by the hash table slots (packed keys, 0 for a free slot), the packed
+ * key of every id, the ids stored in the slots, the neighbour reached by every move of every
+ * id (-1 if the tile cannot move), and finally one byte per id for the distance and one for
+ * the code of the best move. Every number is big-endian.</p>
+ */
+@Slf4j
+public class StateGraphBuilder {
+    static final int MAGIC = 0x53475048;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The distance stored for positions from which no solved position can be reached.
+     */
+    static final int UNSOLVABLE = 0xFF;
+
+    /**
+     * The best move stored for solved and unsolvable positions.
+     */
+    static final int NO_MOVE = 0xFF;
+
+    private final long start;
+
+    private final int moveCount;
+
+    private long[] keys;
+
+    private int[] neighbours;
+
+    private byte[] distances;
+
+    private byte[] bestMoves;
+
+    private int size;
+
+    /**
+     * Initializes a builder that enumerates the positions reachable from a state.
+     *
+     * @param start the start state
+     */
+    public StateGraphBuilder(SliderState start) {
+        this.start = Bitboard.of(start).pack();
+        this.moveCount = Bitboard.packedSize(this.start) * Move.DIRECTIONS.size();
+    }
+
+    /**
+     * Enumerates the positions, builds the move graph and computes the distances.
+     *
+     * @return this builder
+     */
+    public StateGraphBuilder build() {
+        long startTime = System.nanoTime();
+        enumerate();
+        computeDistances();
+        log.info("Built state graph of {} positions in {} ms", size, (System.nanoTime() - startTime) / 1000000);
+        return this;
+    }
+
+    private void enumerate() {
+        int tiles = Bitboard.packedSize(start);
+        LongIntHashMap ids = new LongIntHashMap(1 << 12);
+        keys = new long[1 << 12];
+        keys[0] = start;
+        ids.putIfAbsent(start, 0);
+        size = 1;
+        int[] edges = new int[keys.length * moveCount];
+        for (int id = 0; id < size; id++) {
+            long key = keys[id];
+            long occupancy = Bitboard.occupancyOf(key);
+            for (int tile = 0; tile < tiles; tile++) {
+                for (int d = 0; d < Move.DIRECTIONS.size(); d++) {
+                    long next = Bitboard.stepPacked(key, occupancy, tile, Move.DIRECTIONS.get(d),
+                            Move.axisOf(Move.DIRECTIONS.get(d)));
+                    int edge = id * moveCount + (tile << 2 | d);
+                    if (next == key) {
+                        edges[edge] = -1;
+                        continue;
+                    }
+                    if (ids.putIfAbsent(next, size)) {
+                        if (size == keys.length) {
+                            keys = Arrays.copyOf(keys, size * 2);
+                            edges = Arrays.copyOf(edges, size * 2 * moveCount);
+                        }
+                        keys[size++] = next;
+                    }
+                    edges[edge] = ids.get(next);
+                }
+            }
+        }
+        keys = Arrays.copyOf(keys, size);
+        neighbours = Arrays.copyOf(edges, size * moveCount);
+    }
+
+    /**
+     * Runs a breadth-first search from every solved position at once. Every move can be
+     * undone, so the graph is undirected and the search gives the distance to the nearest
+     * solved position.
+     */
+    private void computeDistances() {
+        distances = new byte[size];
+        bestMoves = new byte[size];
+        Arrays.fill(distances, (byte) UNSOLVABLE);
+        Arrays.fill(bestMoves, (byte) NO_MOVE);
+        int[] queue = new int[size];
+        int tail = 0;
+        for (int id = 0; id < size; id++) {
+            if (Bitboard.isSolvedPacked(keys[id], Bitboard.occupancyOf(keys[id]))) {
+                distances[id] = 0;
+                queue[tail++] = id;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int id = queue[head];
+            int distance = distances[id] & 0xFF;
+            for (int move = 0; move < moveCount; move++) {
+                int next = neighbours[id * moveCount + move];
+                if (next == -1 || (distances[next] & 0xFF) != UNSOLVABLE) {
+                    continue;
+                }
+                distances[next] = (byte) Math.min(distance + 1, UNSOLVABLE - 1);
+                bestMoves[next] = (byte) reverse(next, id);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    private int reverse(int from, int to) {
+        for (int move = 0; move < moveCount; move++) {
+            if (neighbours[from * moveCount + move] == to) {
+                return move;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the number of positions in the graph.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the graph to a file, replacing it atomically if it exists.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path path) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(4, size * 2) - 1) << 1;
+        long[] slots = new long[capacity];
+        int[] slotIds = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            int slot = (int) LongIntHashMap.mix(keys[id]) & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = keys[id];
+            slotIds[slot] = id;
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "state-graph", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(start);
+            out.writeInt(size);
+            out.writeInt(moveCount);
+            out.writeInt(capacity);
+            for (long slot : slots) {
+                out.writeLong(slot);
+            }
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+            for (int slotId : slotIds) {
+                out.writeInt(slotId);
+            }
+            for (int neighbour : neighbours) {
+                out.writeInt(neighbour);
+            }
+            out.write(distances);
+            out.write(bestMoves);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote state graph to {}", path);
+    }
+
+    /**
+     * Builds the graph of the positions reachable from {@link SliderState#INITIAL}
+     * and writes it to a file, so it can be shipped instead of built on first run.
+     *
+     * @param args the path of the file, {@link StateGraph#DEFAULT_PATH} if missing
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : StateGraph.DEFAULT_PATH;
+        new StateGraphBuilder(new SliderState(SliderState.INITIAL)).build().writeTo(path);
+    }
+}
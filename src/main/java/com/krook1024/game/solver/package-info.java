@@ -0,0 +1,4 @@
+/**
+ * Provides classes for solving and exploring the positions of the game.
+ */
+package com.krook1024.game.solver;
@@ -0,0 +1,397 @@
+package com.krook1024.game.state;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a packed bitboard encoding of a {@link SliderState}.
+ *
+ * <p>Every cell of the board is a bit of a {@code long}, cell {@code (x, y)} being bit
+ * {@code y * WIDTH + x}. Each tile is stored as the mask of the cells it covers, and the
+ * union of those masks is kept as the occupancy of the board, so checking and making a
+ * move is a shift and a mask test that does not allocate.</p>
+ */
+public final class Bitboard {
+    /**
+     * The width of the board.
+     */
+    public static final int WIDTH = 6;
+
+    /**
+     * The height of the board.
+     */
+    public static final int HEIGHT = 4;
+
+    /**
+     * The number of cells on the board.
+     */
+    public static final int CELLS = WIDTH * HEIGHT;
+
+    /**
+     * The maximum number of tiles a packed key can hold.
+     */
+    public static final int MAX_TILES = Long.BYTES;
+
+    private final TileType[] types;
+
+    private final long[] masks;
+
+    private long occupancy;
+
+    private Bitboard(TileType[] types, long[] masks) {
+        this.types = types;
+        this.masks = masks;
+        for (long mask : masks) {
+            occupancy |= mask;
+        }
+    }
+
+    /**
+     * Initializes a bitboard with the same tiles as another one.
+     *
+     * @param other the bitboard to copy
+     */
+    public Bitboard(Bitboard other) {
+        this.types = other.types;
+        this.masks = other.masks.clone();
+        this.occupancy = other.occupancy;
+    }
+
+    /**
+     * Returns the bitboard encoding of a {@link SliderState}.
+     *
+     * @param state the state to encode
+     * @return the bitboard encoding of {@code state}
+     */
+    public static Bitboard of(SliderState state) {
+        return of(state.getTiles());
+    }
+
+    /**
+     * Returns the bitboard encoding of a list of tiles.
+     *
+     * @param tiles the tiles to encode
+     * @return the bitboard encoding of {@code tiles}
+     */
+    public static Bitboard of(List<Tile> tiles) {
+        if (tiles.size() > MAX_TILES) {
+            throw new IllegalArgumentException();
+        }
+        TileType[] types = new TileType[tiles.size()];
+        long[] masks = new long[tiles.size()];
+        for (int i = 0; i < tiles.size(); i++) {
+            Tile t = tiles.get(i);
+            types[i] = t.getType();
+            masks[i] = cellMask(t.getTopLeft()) | cellMask(t.getTopRight())
+                    | cellMask(t.getBotLeft()) | cellMask(t.getBotRight());
+        }
+        return new Bitboard(types, masks);
+    }
+
+    /**
+     * Returns the bitboard encoded in a key returned by {@link #pack()}.
+     *
+     * @param key the packed key
+     * @return the bitboard encoded in {@code key}
+     */
+    public static Bitboard unpack(long key) {
+        int size = packedSize(key);
+        TileType[] types = new TileType[size];
+        long[] masks = new long[size];
+        for (int i = 0; i < size; i++) {
+            int b = (int) (key >>> (8 * i)) & 0xFF;
+            types[i] = TileType.of(b >>> 5);
+            masks[i] = TileGeometry.mask(b >>> 5, b & 0x1F);
+        }
+        return new Bitboard(types, masks);
+    }
+
+    /**
+     * Returns the number of tiles encoded in a packed key.
+     *
+     * @param key the packed key
+     * @return the number of tiles encoded in {@code key}
+     */
+    public static int packedSize(long key) {
+        return key == 0 ? 0 : MAX_TILES - Long.numberOfLeadingZeros(key) / 8;
+    }
+
+    /**
+     * Returns the index of a cell on the board.
+     *
+     * @param x the x co-ordinate of the cell
+     * @param y the y co-ordinate of the cell
+     * @return the index of the cell
+     */
+    public static int cellOf(int x, int y) {
+        return y * WIDTH + x;
+    }
+
+    /**
+     * Tells whether a cell is on the board.
+     *
+     * @param x the x co-ordinate of the cell
+     * @param y the y co-ordinate of the cell
+     * @return whether the cell is on the board
+     */
+    public static boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT;
+    }
+
+    private static long cellMask(Point p) {
+        return isOnBoard(p.getX(), p.getY()) ? 1L << cellOf(p.getX(), p.getY()) : 0;
+    }
+
+    /**
+     * Returns the number of tiles on the board.
+     *
+     * @return the number of tiles on the board
+     */
+    public int size() {
+        return masks.length;
+    }
+
+    /**
+     * Returns the type of the tile with the given index.
+     *
+     * @param index the index of the tile
+     * @return the type of the tile
+     */
+    public TileType getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the cells covered by the tile with the given index.
+     *
+     * @param index the index of the tile
+     * @return the mask of the cells covered by the tile
+     */
+    public long getMask(int index) {
+        return masks[index];
+    }
+
+    /**
+     * Returns the cells covered by any tile.
+     *
+     * @return the mask of the occupied cells
+     */
+    public long getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Returns the anchor cell of the tile with the given index, which is the top left cell of its bounding box.
+     *
+     * @param index the index of the tile
+     * @return the anchor cell of the tile
+     */
+    public int getAnchor(int index) {
+        return Long.numberOfTrailingZeros(masks[index]) - Long.numberOfTrailingZeros(TileGeometry.shape(types[index]));
+    }
+
+    /**
+     * Returns the index of the tile at the point searched for.
+     *
+     * @param x the x co-ordinate of the point searched for
+     * @param y the y co-ordinate of the point searched for
+     * @return the index of the tile at the point searched for, or -1 if it is empty
+     */
+    public int findTileIndexAtPoint(int x, int y) {
+        if (!isOnBoard(x, y)) {
+            return -1;
+        }
+        long cell = 1L << cellOf(x, y);
+        for (int i = 0; i < masks.length; i++) {
+            if ((masks[i] & cell) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether a point is empty. Points outside of the board are empty, like in {@link SliderState}.
+     *
+     * @param x the x co-ordinate of the point
+     * @param y the y co-ordinate of the point
+     * @return whether the point is empty
+     */
+    public boolean isEmptySpace(int x, int y) {
+        return !isOnBoard(x, y) || (occupancy & (1L << cellOf(x, y))) == 0;
+    }
+
+    private long target(int index, Direction direction, Axis axis) {
+        int d = TileGeometry.directionIndex(direction, axis);
+        return d == -1 ? 0 : TileGeometry.target(types[index], getAnchor(index), d);
+    }
+
+    /**
+     * Tells whether the tile with the given index can step across the specified axis in the specified direction.
+     *
+     * @param index the index of the tile
+     * @param direction the direction
+     * @param axis the axis
+     * @return whether the tile can step
+     */
+    public boolean canStep(int index, Direction direction, Axis axis) {
+        if (index < 0 || index >= masks.length) {
+            throw new IllegalArgumentException();
+        }
+        long target = target(index, direction, axis);
+        return target != 0 && (target & occupancy & ~masks[index]) == 0;
+    }
+
+    /**
+     * Steps a tile with the given index across the specified axis in the specified direction,
+     * the same way {@link SliderState#stepTileWithIndex(int, Direction, Axis)} does.
+     *
+     * @param index the index of the tile
+     * @param direction the direction
+     * @param axis the axis
+     * @return whether the tile has moved
+     */
+    public boolean stepTileWithIndex(int index, Direction direction, Axis axis) {
+        if (!canStep(index, direction, axis)) {
+            return false;
+        }
+        long target = target(index, direction, axis);
+        occupancy = (occupancy & ~masks[index]) | target;
+        masks[index] = target;
+        return true;
+    }
+
+    /**
+     * Tells whether the game is solved, that is, whether there is no empty space around the last tile.
+     *
+     * @return whether the game is solved
+     */
+    public boolean isSolved() {
+        int last = masks.length - 1;
+        long required = TileGeometry.solveNeighbours(types[last], getAnchor(last));
+        return required != TileGeometry.UNSOLVABLE && (occupancy & required) == required;
+    }
+
+    /**
+     * Packs the bitboard into a single key, one byte per tile holding its type and anchor cell.
+     *
+     * @return the packed key
+     */
+    public long pack() {
+        long key = 0;
+        for (int i = 0; i < masks.length; i++) {
+            key |= (long) (types[i].ordinal() << 5 | getAnchor(i)) << (8 * i);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the cells covered by the tile with the given index in a packed key.
+     *
+     * @param key the packed key
+     * @param index the index of the tile
+     * @return the mask of the cells covered by the tile
+     */
+    public static long maskOf(long key, int index) {
+        int b = (int) (key >>> (8 * index)) & 0xFF;
+        return TileGeometry.mask(b >>> 5, b & 0x1F);
+    }
+
+    /**
+     * Returns the cells covered by any tile in a packed key.
+     *
+     * @param key the packed key
+     * @return the mask of the occupied cells
+     */
+    public static long occupancyOf(long key) {
+        long occupancy = 0;
+        for (int i = 0, size = packedSize(key); i < size; i++) {
+            occupancy |= maskOf(key, i);
+        }
+        return occupancy;
+    }
+
+    /**
+     * Steps a tile in a packed key, the same way {@link #stepTileWithIndex(int, Direction, Axis)} does.
+     *
+     * @param key the packed key
+     * @param occupancy the cells occupied in {@code key}, as returned by {@link #occupancyOf(long)}
+     * @param index the index of the tile
+     * @param direction the direction
+     * @param axis the axis
+     * @return the packed key after the step, or {@code key} itself if the tile cannot move
+     */
+    public static long stepPacked(long key, long occupancy, int index, Direction direction, Axis axis) {
+        int d = TileGeometry.directionIndex(direction, axis);
+        if (d == -1) {
+            return key;
+        }
+        int b = (int) (key >>> (8 * index)) & 0xFF;
+        long mask = TileGeometry.mask(b >>> 5, b & 0x1F);
+        long target = TileGeometry.target(b >>> 5, b & 0x1F, d);
+        if (target == 0 || (target & occupancy & ~mask) != 0) {
+            return key;
+        }
+        long delta = Long.numberOfTrailingZeros(target) - Long.numberOfTrailingZeros(mask);
+        return key + (delta << (8 * index));
+    }
+
+    /**
+     * Tells whether the board encoded in a packed key is solved.
+     *
+     * @param key the packed key
+     * @param occupancy the cells occupied in {@code key}, as returned by {@link #occupancyOf(long)}
+     * @return whether the board is solved
+     */
+    public static boolean isSolvedPacked(long key, long occupancy) {
+        int b = (int) (key >>> (8 * (packedSize(key) - 1))) & 0xFF;
+        long required = TileGeometry.solveNeighbours(b >>> 5, b & 0x1F);
+        return required != TileGeometry.UNSOLVABLE && (occupancy & required) == required;
+    }
+
+    /**
+     * Converts the bitboard back to a list of tiles.
+     *
+     * @return the list of {@link Tile}s on the board
+     */
+    public List<Tile> toTiles() {
+        List<Tile> tiles = new ArrayList<>(masks.length);
+        for (int i = 0; i < masks.length; i++) {
+            int anchor = getAnchor(i);
+            tiles.add(TileGeometry.tile(types[i], anchor % WIDTH, anchor / WIDTH));
+        }
+        return tiles;
+    }
+
+    /**
+     * Converts the bitboard back to a {@link SliderState}.
+     *
+     * @return the state represented by the bitboard
+     */
+    public SliderState toSliderState() {
+        return new SliderState(toTiles());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Bitboard)) {
+            return false;
+        }
+        Bitboard other = (Bitboard) o;
+        return Arrays.equals(types, other.types) && Arrays.equals(masks, other.masks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(pack());
+    }
+
+    @Override
+    public String toString() {
+        return toSliderState().toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.krook1024.game.state;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * This class represents a step of a tile across an axis in a direction.
+ */
+@Value
+public class Move {
+    /**
+     * The directions a tile can step in, in the order used by {@link #getCode()}.
+     */
+    public static final List<Direction> DIRECTIONS = List.of(Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN);
+
+    /**
+     * The moves of the tiles a packed key can hold, indexed by their codes.
+     */
+    private static final Move[] BY_CODE = new Move[Bitboard.MAX_TILES * 4];
+
+    static {
+        for (int code = 0; code < BY_CODE.length; code++) {
+            BY_CODE[code] = of(code >>> 2, DIRECTIONS.get(code & 3));
+        }
+    }
+
+    /**
+     * The index of the tile in the tiles list.
+     */
+    int tileIndex;
+
+    /**
+     * The direction of the step.
+     */
+    Direction direction;
+
+    /**
+     * The axis of the step.
+     */
+    Axis axis;
+
+    /**
+     * Returns the move of a tile in a direction, on the axis that direction belongs to.
+     *
+     * @param tileIndex the index of the tile
+     * @param direction the direction, one of {@link #DIRECTIONS}
+     * @return the move
+     */
+    public static Move of(int tileIndex, Direction direction) {
+        return new Move(tileIndex, direction, axisOf(direction));
+    }
+
+    /**
+     * Returns the move represented by a code returned by {@link #getCode()}.
+     *
+     * @param code the code of the move
+     * @return the move represented by {@code code}
+     */
+    public static Move ofCode(int code) {
+        if (code >= 0 && code < BY_CODE.length) {
+            return BY_CODE[code];
+        }
+        return of(code >>> 2, DIRECTIONS.get(code & 3));
+    }
+
+    /**
+     * Returns the axis a direction belongs to.
+     *
+     * @param direction the direction
+     * @return {@link Axis#X} for left and right, {@link Axis#Y} for up and down
+     */
+    public static Axis axisOf(Direction direction) {
+        switch (direction) {
+            case LEFT:
+            case RIGHT:
+                return Axis.X;
+            case UP:
+            case DOWN:
+                return Axis.Y;
+        }
+        throw new IllegalArgumentException();
+    }
+
+    /**
+     * Returns the code of the move, which is the tile index and the direction packed into a single integer.
+     *
+     * @return the code of the move
+     */
+    public int getCode() {
+        return tileIndex << 2 | DIRECTIONS.indexOf(direction);
+    }
+
+    /**
+     * Makes the move on a state.
+     *
+     * @param state the state to make the move on
+     */
+    public void applyTo(SliderState state) {
+        state.stepTileWithIndex(tileIndex, direction, axis);
+    }
+}
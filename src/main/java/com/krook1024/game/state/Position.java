@@ -0,0 +1,118 @@
+package com.krook1024.game.state;
+
+/**
+ * This class represents an immutable snapshot of a {@link SliderState}.
+ *
+ * <p>A position is backed by the packed {@link Bitboard} key of the board, so equality is a
+ * comparison of keys, and the hash code is computed only once.</p>
+ */
+public final class Position {
+    private final long key;
+
+    private final long occupancy;
+
+    private final int hash;
+
+    private Position(long key) {
+        this.key = key;
+        this.occupancy = Bitboard.occupancyOf(key);
+        this.hash = Long.hashCode(key * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Returns the position encoded in a packed {@link Bitboard} key.
+     *
+     * @param key the packed key
+     * @return the position encoded in {@code key}
+     */
+    public static Position of(long key) {
+        return new Position(key);
+    }
+
+    /**
+     * Returns a snapshot of the current tiles of a state.
+     *
+     * @param state the state
+     * @return the position of {@code state}
+     */
+    public static Position of(SliderState state) {
+        return of(Bitboard.of(state).pack());
+    }
+
+    /**
+     * Returns the packed {@link Bitboard} key of the position.
+     *
+     * @return the packed key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the number of tiles on the board.
+     *
+     * @return the number of tiles
+     */
+    public int size() {
+        return Bitboard.packedSize(key);
+    }
+
+    /**
+     * Returns the position reached by stepping a tile, leaving this position unchanged.
+     *
+     * @param index the index of the tile
+     * @param direction the direction
+     * @param axis the axis
+     * @return the position after the step, or this position if the tile cannot move
+     */
+    public Position withMove(int index, Direction direction, Axis axis) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException();
+        }
+        long next = Bitboard.stepPacked(key, occupancy, index, direction, axis);
+        return next == key ? this : of(next);
+    }
+
+    /**
+     * Returns the position reached by making a move, leaving this position unchanged.
+     *
+     * @param move the move
+     * @return the position after the move, or this position if the tile cannot move
+     */
+    public Position withMove(Move move) {
+        return withMove(move.getTileIndex(), move.getDirection(), move.getAxis());
+    }
+
+    /**
+     * Tells whether the position is solved.
+     *
+     * @return whether the position is solved
+     */
+    public boolean isSolved() {
+        return Bitboard.isSolvedPacked(key, occupancy);
+    }
+
+    /**
+     * Returns a new, mutable {@link SliderState} with the tiles of this position.
+     *
+     * @return the state of this position
+     */
+    public SliderState toSliderState() {
+        return Bitboard.unpack(key).toSliderState();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Position && ((Position) o).key == key;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toSliderState().toString();
+    }
+}
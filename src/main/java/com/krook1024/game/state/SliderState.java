@@ -3,6 +3,8 @@ package com.krook1024.game.state;
 import javafx.scene.control.Slider;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
@@ -14,8 +16,9 @@ import java.util.stream.Collectors;
 @Data
 public class SliderState {
     /**
-     * The tiles in the current game.
+     * The tiles in the current game. They are never handed out, see {@link #getTiles()}.
      */
+    @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     private List<Tile> tiles = List.of(
             new Tile(TileType.TYPE1, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(0, 1)),
@@ -26,15 +29,42 @@ public class SliderState {
     );
 
     /**
-     * The initial state of the tiles.
+     * The index of the tile covering each cell of the board, or -1 if the cell is empty.
+     * It is kept up to date by {@link #stepTileWithIndex(int, Direction, Axis)}, the only
+     * way the tiles are stepped.
      */
-    public static final List<Tile> INITIAL = List.of(
-            new Tile(TileType.TYPE1, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(0, 1)),
-            new Tile(TileType.TYPE2, new Point(2, 0), new Point(3, 0), new Point(3, 1), new Point(3, 1)),
-            new Tile(TileType.TYPE3, new Point(0, 2), new Point(0, 2), new Point(0, 3), new Point(1, 3)),
-            new Tile(TileType.TYPE4, new Point(3, 2), new Point(3, 2), new Point(2, 3), new Point(3, 3)),
-            new Tile(TileType.TYPE5, new Point(4, 2), new Point(5, 2), new Point(4, 3), new Point(5, 3))
-    );
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private final byte[] cells = new byte[Bitboard.CELLS];
+
+    /**
+     * The mask of the occupied cells of the board, numbered as in {@link Bitboard}.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private long occupancy;
+
+    /**
+     * The {@link Zobrist} key of the current tiles, kept up to date by
+     * {@link #stepTileWithIndex(int, Direction, Axis)}.
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private long positionKey;
+
+    /**
+     * The {@link Zobrist} key of the mirror image of the current tiles.
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private long mirroredPositionKey;
+
+    /**
+     * The initial state of the tiles, the pieces of the
+     * {@linkplain com.krook1024.game.board.BoardDefinition#standard() standard board}.
+     */
+    public static final List<Tile> INITIAL = TileGeometry.standardTiles();
 
     /**
      * A near-win state.
@@ -50,14 +80,75 @@ public class SliderState {
     /**
      * The constructor that accepts no arguments.
      */
-    public SliderState() { }
+    public SliderState() {
+        indexCells();
+    }
 
     /**
-     * The constructor that will initialize the current list of tiles with the given list of tiles.
+     * The constructor that will initialize the current list of tiles with a copy of the given list of tiles.
      * @param tiles the list of {@link Tile}s
      */
     public SliderState(List<Tile> tiles) {
-        this.tiles = tiles;
+        this.tiles = tiles.stream().map(Tile::new).collect(Collectors.toUnmodifiableList());
+        indexCells();
+    }
+
+    /**
+     * Returns copies of the current tiles. Stepping a copy does not change the state, so
+     * the index of the cells cannot be left behind by the tiles.
+     *
+     * @return an unmodifiable list of copies of the tiles
+     */
+    public List<Tile> getTiles() {
+        return tiles.stream().map(Tile::new).collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the number of tiles.
+     *
+     * @return the number of tiles
+     */
+    public int size() {
+        return tiles.size();
+    }
+
+    private void indexCells() {
+        Arrays.fill(cells, (byte) -1);
+        occupancy = 0;
+        positionKey = 0;
+        mirroredPositionKey = 0;
+        for (int i = tiles.size() - 1; i >= 0; i--) {
+            markCells(tiles.get(i), (byte) i);
+            toggleKeys(tiles.get(i));
+        }
+    }
+
+    private void toggleKeys(Tile tile) {
+        positionKey ^= Zobrist.keyOf(tile);
+        mirroredPositionKey ^= Zobrist.mirroredKeyOf(tile);
+    }
+
+    private void markCells(Tile tile, byte index) {
+        markCell(tile.getTopLeft(), index);
+        markCell(tile.getTopRight(), index);
+        markCell(tile.getBotLeft(), index);
+        markCell(tile.getBotRight(), index);
+    }
+
+    private void markCell(Point p, byte index) {
+        if (Bitboard.isOnBoard(p.getX(), p.getY())) {
+            int cell = Bitboard.cellOf(p.getX(), p.getY());
+            cells[cell] = index;
+            if (index == -1) {
+                occupancy &= ~(1L << cell);
+            } else {
+                occupancy |= 1L << cell;
+            }
+        }
+    }
+
+    private int tileIndexAtCell(int x, int y) {
+        return Bitboard.isOnBoard(x, y) ? cells[Bitboard.cellOf(x, y)] : -1;
     }
 
     /**
@@ -78,22 +169,7 @@ public class SliderState {
      * @return the index of the tile in the {@code tiles} list at the point searched for
      */
     public int findTileIndexAtPoint(int x, int y) {
-        for (int i = 0; i < tiles.size(); i++) {
-            Tile tile = tiles.get(i);
-
-            if (tile.getTopLeft().getX() == x && tile.getTopLeft().getY() == y)
-                return i;
-
-            if (tile.getTopRight().getX() == x && tile.getTopRight().getY() == y)
-                return i;
-
-            if (tile.getBotLeft().getX() == x && tile.getBotLeft().getY() == y)
-                return i;
-
-            if (tile.getBotRight().getX() == x && tile.getBotRight().getY() == y)
-                return i;
-        }
-        return -1;
+        return tileIndexAtCell(x, y);
     }
 
     /**
@@ -106,23 +182,25 @@ public class SliderState {
      * @return the index of the tile in the {@code tiles} list at the point searched for
      */
     public int findTileIndexByTopLeftAtPoint(int x, int y) {
-        for (int i = 0; i < tiles.size(); i++) {
-            Tile tile = tiles.get(i);
-
-            if (tile.getTopLeft().getX() == x && tile.getTopLeft().getY() == y)
-                return i;
-
-            if (tile.getTopRight().getX() == x + 1 && tile.getTopRight().getY() == y)
-                return i;
-
-            if (tile.getBotLeft().getX() == x && tile.getBotLeft().getY() == y + 1)
-                return i;
-
-            if (tile.getBotRight().getX() == x + 1 && tile.getBotRight().getY() == y + 1)
-                return i;
-
+        // Every corner the search matches lies in the 2x2 cells starting at (x, y),
+        // so only the tiles covering those cells need to be checked.
+        int found = -1;
+        for (int dy = 0; dy <= 1; dy++) {
+            for (int dx = 0; dx <= 1; dx++) {
+                int i = tileIndexAtCell(x + dx, y + dy);
+                if (i != -1 && (found == -1 || i < found) && hasTopLeftAtPoint(tiles.get(i), x, y)) {
+                    found = i;
+                }
+            }
         }
-        return -1;
+        return found;
+    }
+
+    private static boolean hasTopLeftAtPoint(Tile tile, int x, int y) {
+        return tile.getTopLeft().getX() == x && tile.getTopLeft().getY() == y
+                || tile.getTopRight().getX() == x + 1 && tile.getTopRight().getY() == y
+                || tile.getBotLeft().getX() == x && tile.getBotLeft().getY() == y + 1
+                || tile.getBotRight().getX() == x + 1 && tile.getBotRight().getY() == y + 1;
     }
 
     /**
@@ -133,26 +211,26 @@ public class SliderState {
      * @param axis the axis
      */
     public void stepTileWithIndex(int index, Direction direction, Axis axis) {
-        if (index < 0 || index > tiles.size()) {
+        if (index < 0 || index >= tiles.size()) {
             throw new IllegalArgumentException();
         }
         Tile t = tiles.get(index);
+        int d = TileGeometry.directionIndex(direction, axis);
+        if (d == -1) {
+            return;
+        }
 
-        if (axis == Axis.X) {
-            if (!(isEmptySpace(t.getTopLeft().getX() + direction.getValue(), t.getTopLeft().getY(), index) &&
-                    isEmptySpace(t.getTopRight().getX() + direction.getValue(), t.getTopRight().getY(), index) &&
-                    isEmptySpace(t.getBotLeft().getX() + direction.getValue(), t.getBotLeft().getY(), index) &&
-                    isEmptySpace(t.getBotRight().getX() + direction.getValue(), t.getBotRight().getY(), index)))
-                return;
-        } else if (axis == Axis.Y) {
-            if (!(isEmptySpace(t.getTopLeft().getX(), t.getTopLeft().getY() + direction.getValue(), index) &&
-                    isEmptySpace(t.getTopRight().getX(), t.getTopRight().getY() + direction.getValue(), index) &&
-                    isEmptySpace(t.getBotLeft().getX(), t.getBotLeft().getY() + direction.getValue(), index) &&
-                    isEmptySpace(t.getBotRight().getX(), t.getBotRight().getY() + direction.getValue(), index)))
-                return;
+        int anchor = t.getAnchor();
+        long target = TileGeometry.target(t.getType(), anchor, d);
+        if (target == 0 || (target & occupancy & ~TileGeometry.mask(t.getType(), anchor)) != 0) {
+            return;
         }
 
+        markCells(t, (byte) -1);
+        toggleKeys(t);
         t.step(direction, axis);
+        markCells(t, (byte) index);
+        toggleKeys(t);
     }
 
     /**
@@ -185,11 +263,8 @@ public class SliderState {
      * @return whether the point is empty
      */
     public boolean isEmptySpace(int x, int y, int exclude) {
-        List<Tile> tilesAtPoint = tiles
-                .stream()
-                .filter(tile -> findTileIndexAtPoint(x, y) != -1 && findTileIndexAtPoint(x, y) != exclude)
-                .collect(Collectors.toList());
-        return tilesAtPoint.size() == 0;
+        int index = tileIndexAtCell(x, y);
+        return index == -1 || index == exclude;
     }
 
     /**
@@ -232,23 +307,25 @@ public class SliderState {
 
         // The game is solved if there is no empty space around the full tile.
 
-        if (isEmptySpaceNextToPoint(fullTile.getTopLeft(), Direction.UP, Axis.Y) ||
-            isEmptySpaceNextToPoint(fullTile.getTopLeft(), Direction.LEFT, Axis.X))
-            return false;
-
-        if (isEmptySpaceNextToPoint(fullTile.getTopRight(), Direction.UP, Axis.Y) ||
-            isEmptySpaceNextToPoint(fullTile.getTopRight(), Direction.RIGHT, Axis.X))
-            return false;
-
-        if (isEmptySpaceNextToPoint(fullTile.getBotLeft(), Direction.DOWN, Axis.Y) ||
-            isEmptySpaceNextToPoint(fullTile.getBotLeft(), Direction.LEFT, Axis.X))
-            return false;
+        long required = TileGeometry.solveNeighbours(fullTile.getType(), fullTile.getAnchor());
+        return required != TileGeometry.UNSOLVABLE && (occupancy & required) == required;
+    }
 
-        if (isEmptySpaceNextToPoint(fullTile.getBotRight(), Direction.DOWN, Axis.Y) ||
-            isEmptySpaceNextToPoint(fullTile.getBotRight(), Direction.RIGHT, Axis.X))
-            return false;
+    /**
+     * Returns the smaller of the keys of the current tiles and of their mirror image,
+     * which is the same for a position and its mirror image.
+     * @return the canonical {@link Zobrist} key of the current tiles
+     */
+    public long getCanonicalPositionKey() {
+        return Math.min(positionKey, mirroredPositionKey);
+    }
 
-        return true;
+    /**
+     * Returns an immutable snapshot of the current tiles.
+     * @return the {@link Position} of the current tiles
+     */
+    public Position snapshot() {
+        return Position.of(this);
     }
 
     /**
@@ -257,8 +334,8 @@ public class SliderState {
      */
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 6; j++) {
+        for (int i = 0; i < Bitboard.HEIGHT; i++) {
+            for (int j = 0; j < Bitboard.WIDTH; j++) {
                 int tileIndexAtPoint = findTileIndexAtPoint(j, i);
                 if (tileIndexAtPoint != -1) {
                     Tile t = tiles.get(tileIndexAtPoint);
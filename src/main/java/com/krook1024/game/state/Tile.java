@@ -4,8 +4,6 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 
-import static com.krook1024.game.state.Direction.*;
-
 /**
  * The class representing a tile on the board.
  */
@@ -38,6 +36,18 @@ public class Tile {
         }
     }
 
+    /**
+     * Initializes a tile with the same type and position as another one.
+     * @param other the tile to copy
+     */
+    public Tile(Tile other) {
+        this(other.type,
+                new Point(other.topLeft.getX(), other.topLeft.getY()),
+                new Point(other.topRight.getX(), other.topRight.getY()),
+                new Point(other.botLeft.getX(), other.botLeft.getY()),
+                new Point(other.botRight.getX(), other.botRight.getY()));
+    }
+
     /**
      * Checks if a tile is valid.
      *
@@ -58,63 +68,16 @@ public class Tile {
      * @return whether the tile is valid or not.
      */
     public static boolean isValidTile(TileType type, Point topLeft, Point topRight, Point botLeft, Point botRight) {
-        if (type != TileType.TYPE5) {
-            if (topLeft.distanceTo(botRight) > 2 || topRight.distanceTo(botLeft) > 2) {
-                return false;
-            }
-        }
-
-        switch (type) {
-            case EMPTY:
-                return false;
-            case TYPE1:
-                return (topLeft.getY() == topRight.getY()) &&
-                        (topLeft.getX() == botRight.getX()) &&
-                        (botLeft.distanceTo(botRight) == 0);
-            case TYPE2:
-                return (topLeft.getY() == topRight.getY()) &&
-                        (topRight.getX() == botRight.getX()) &&
-                        (botLeft.distanceTo(botRight) == 0);
-            case TYPE3:
-                return (botLeft.getY() == botRight.getY()) &&
-                        (botLeft.getX() == topLeft.getX()) &&
-                        (topLeft.distanceTo(topRight) == 0);
-            case TYPE4:
-                return (botLeft.getY() == botRight.getY()) &&
-                        (botRight.getX() == topRight.getX()) &&
-                        (topRight.distanceTo(topLeft) == 0);
-            case TYPE5:
-                return (topLeft.distanceTo(botRight) < 2) &&
-                        (botLeft.distanceTo(topRight) < 2);
-        }
-        return false;
+        return TileGeometry.isValid(type, topLeft, topRight, botLeft, botRight);
     }
 
     /**
-     * Returns whether the tile is at the edge of the grid.
+     * Returns the anchor cell of the tile, which is the top left cell of its bounding box.
      *
-     * @param axis the axis to check
-     * @return whether the tile is at the edge of the grid (-1 if it's at the left edge, 1 if it's at the right edge, 0 if it's not at the edge)
+     * @return the index of the anchor cell, numbered as in {@link Bitboard}
      */
-    private Direction isAtEdge(Axis axis) {
-        switch (axis) {
-            case X:
-                if (Math.min(topLeft.getX(), botLeft.getX()) == 0)
-                    return LEFT;
-
-                if (Math.max(topRight.getX(), botRight.getX()) == 5)
-                    return RIGHT;
-                break;
-            case Y:
-                if (Math.min(topLeft.getY(), topRight.getY()) == 0)
-                    return UP;
-
-                if (Math.max(botLeft.getY(), botRight.getY()) == 3)
-                    return DOWN;
-                break;
-        }
-
-        return NONE;
+    public int getAnchor() {
+        return TileGeometry.anchorOf(type, topLeft);
     }
 
     /**
@@ -124,7 +87,8 @@ public class Tile {
      * @param axis the axis
      */
     public void step(Direction direction, Axis axis) {
-        if (isAtEdge(axis) == direction) return;
+        int d = TileGeometry.directionIndex(direction, axis);
+        if (d == -1 || TileGeometry.target(type, getAnchor(), d) == 0) return;
 
         switch (axis) {
             case X:
@@ -0,0 +1,262 @@
+package com.krook1024.game.state;
+
+import com.krook1024.game.board.BoardDefinition;
+import com.krook1024.game.board.BoardGeometry;
+import com.krook1024.game.board.PieceDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Precomputed geometry of the tile types on the board.
+ *
+ * <p>Every tile type fits in a 2x2 bounding box, and the top left cell of that box is the
+ * anchor of the tile. For every type, anchor and direction the tables hold the mask of the
+ * cells the tile covers, the mask it would cover after a step (0 if the step would take it
+ * off the board), and the cells that must be occupied around it for the game to be solved,
+ * so that validity, bounds and solution checks are a single array load and a mask test.
+ * Cells are numbered as in {@link Bitboard}, and directions are indexed in the order of
+ * {@link Move#DIRECTIONS}.</p>
+ *
+ * <p>The tables are built from the {@link BoardGeometry} of the
+ * {@linkplain BoardDefinition#standard() standard board}, whose piece named by the digit of a
+ * tile type gives the shape of that type, so the board of the game is defined in one place.
+ * The size of the board is fixed by the packed keys of {@link Bitboard}, and the standard
+ * board is checked to have that size.</p>
+ */
+public final class TileGeometry {
+    /**
+     * The number of directions a tile can step in.
+     */
+    public static final int DIRECTIONS = 4;
+
+    /**
+     * The value of {@link #solveNeighbours(TileType, int)} for a tile that touches the edge of the board.
+     */
+    public static final long UNSOLVABLE = -1L;
+
+    private static final int TYPES = TileType.values().length;
+
+    private static final int CELLS = Bitboard.CELLS;
+
+    /**
+     * The corners of each tile type relative to the anchor, in the order
+     * top left, top right, bottom left, bottom right, as {x, y} pairs.
+     */
+    private static final int[][] CORNERS = new int[TYPES][];
+
+    private static final long[] SHAPES = new long[TYPES];
+
+    private static final long[] MASKS = new long[TYPES * CELLS];
+
+    private static final long[] TARGETS = new long[TYPES * CELLS * DIRECTIONS];
+
+    private static final long[] SOLVE_NEIGHBOURS = new long[TYPES * CELLS];
+
+    private static final List<Tile> STANDARD_TILES;
+
+    static {
+        BoardDefinition definition = BoardDefinition.standard();
+        if (definition.getWidth() != Bitboard.WIDTH || definition.getHeight() != Bitboard.HEIGHT) {
+            throw new IllegalStateException("The standard board is not " + Bitboard.WIDTH + "x" + Bitboard.HEIGHT);
+        }
+        BoardGeometry geometry = new BoardGeometry(definition);
+        int[] types = new int[geometry.pieces()];
+        Arrays.fill(SOLVE_NEIGHBOURS, UNSOLVABLE);
+        for (int p = 0; p < geometry.pieces(); p++) {
+            PieceDefinition piece = definition.getPieces().get(p);
+            int type = Character.digit(piece.getSymbol(), 10);
+            if (type <= TileType.EMPTY.ordinal() || type >= TYPES || CORNERS[type] != null) {
+                throw new IllegalStateException("Piece " + piece.getSymbol() + " of the standard board is not a tile type");
+            }
+            if (piece.getBoxWidth() != 2 || piece.getBoxHeight() != 2) {
+                throw new IllegalStateException("Piece " + piece.getSymbol() + " of the standard board does not fill a 2x2 box");
+            }
+            types[p] = type;
+            CORNERS[type] = corners(piece);
+            for (int offset : geometry.shape(p)) {
+                SHAPES[type] |= 1L << offset;
+            }
+            for (int anchor = 0; anchor < CELLS; anchor++) {
+                if (!geometry.isValidAnchor(p, anchor)) {
+                    continue;
+                }
+                MASKS[type * CELLS + anchor] = SHAPES[type] << anchor;
+                if (geometry.isSolvable(p, anchor)) {
+                    long mask = 0;
+                    for (int offset : geometry.around(p)) {
+                        mask |= 1L << (anchor + offset);
+                    }
+                    SOLVE_NEIGHBOURS[type * CELLS + anchor] = mask;
+                }
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int next = geometry.next(p, anchor, d);
+                    if (next != -1) {
+                        TARGETS[(type * CELLS + anchor) * DIRECTIONS + d] = SHAPES[type] << next;
+                    }
+                }
+            }
+        }
+        List<Tile> tiles = new ArrayList<>();
+        for (int p = 0; p < types.length; p++) {
+            PieceDefinition piece = definition.getPieces().get(p);
+            tiles.add(tile(TileType.of(types[p]), piece.getStartX(), piece.getStartY()));
+        }
+        STANDARD_TILES = List.copyOf(tiles);
+    }
+
+    private TileGeometry() {
+    }
+
+    private static boolean isAnchor(int x, int y) {
+        return x >= 0 && x < Bitboard.WIDTH - 1 && y >= 0 && y < Bitboard.HEIGHT - 1;
+    }
+
+    /**
+     * Returns the corners of a piece in a 2x2 box relative to its anchor: the first and last
+     * cell of its top row and of its bottom row.
+     */
+    private static int[] corners(PieceDefinition piece) {
+        int[] corners = new int[8];
+        for (int y = 0; y < 2; y++) {
+            corners[4 * y] = piece.covers(0, y) ? 0 : 1;
+            corners[4 * y + 1] = y;
+            corners[4 * y + 2] = piece.covers(1, y) ? 1 : 0;
+            corners[4 * y + 3] = y;
+        }
+        return corners;
+    }
+
+    /**
+     * Returns a tile of a type anchored at a cell.
+     *
+     * @param type the type of the tile
+     * @param x the x co-ordinate of the anchor
+     * @param y the y co-ordinate of the anchor
+     * @return the tile
+     */
+    static Tile tile(TileType type, int x, int y) {
+        int[] c = CORNERS[type.ordinal()];
+        return new Tile(type,
+                new Point(x + c[0], y + c[1]),
+                new Point(x + c[2], y + c[3]),
+                new Point(x + c[4], y + c[5]),
+                new Point(x + c[6], y + c[7]));
+    }
+
+    /**
+     * Returns the tiles at the start of the standard board.
+     *
+     * @return the tiles of the pieces of the standard board, in the order of the pieces
+     */
+    public static List<Tile> standardTiles() {
+        return STANDARD_TILES;
+    }
+
+    /**
+     * Returns the index of a step in {@link Move#DIRECTIONS}.
+     *
+     * @param direction the direction
+     * @param axis the axis
+     * @return the index of the direction, or -1 if it does not move
+     */
+    public static int directionIndex(Direction direction, Axis axis) {
+        int value = direction.getValue();
+        if (value == 0) {
+            return -1;
+        }
+        return (axis == Axis.X ? 0 : 2) + (value > 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the cells covered by a tile type when anchored at cell 0.
+     *
+     * @param type the type of the tile
+     * @return the mask of the shape of the tile type
+     */
+    public static long shape(TileType type) {
+        return SHAPES[type.ordinal()];
+    }
+
+    /**
+     * Returns the cells covered by a tile type anchored at a cell.
+     *
+     * @param type the type of the tile
+     * @param anchor the anchor cell of the tile
+     * @return the mask of the cells covered, or 0 if the tile does not fit on the board there
+     */
+    public static long mask(TileType type, int anchor) {
+        return MASKS[type.ordinal() * CELLS + anchor];
+    }
+
+    /**
+     * Returns the cells a tile type anchored at a cell would cover after a step.
+     *
+     * @param type the type of the tile
+     * @param anchor the anchor cell of the tile
+     * @param direction the index of the direction
+     * @return the mask of the cells covered after the step, or 0 if the step would take the tile off the board
+     */
+    public static long target(TileType type, int anchor, int direction) {
+        return target(type.ordinal(), anchor, direction);
+    }
+
+    static long target(int type, int anchor, int direction) {
+        return TARGETS[(type * CELLS + anchor) * DIRECTIONS + direction];
+    }
+
+    static long mask(int type, int anchor) {
+        return MASKS[type * CELLS + anchor];
+    }
+
+    /**
+     * Returns the cells that must be occupied around a tile type anchored at a cell for the game to be solved.
+     *
+     * @param type the type of the tile
+     * @param anchor the anchor cell of the tile
+     * @return the mask of the cells, or {@link #UNSOLVABLE} if the tile touches the edge of the board
+     */
+    public static long solveNeighbours(TileType type, int anchor) {
+        return solveNeighbours(type.ordinal(), anchor);
+    }
+
+    static long solveNeighbours(int type, int anchor) {
+        return SOLVE_NEIGHBOURS[type * CELLS + anchor];
+    }
+
+    /**
+     * Returns the anchor cell of a tile given by its corners, without checking its shape.
+     *
+     * @param type the type of the tile
+     * @param topLeft the top left corner of the tile
+     * @return the anchor cell of the tile
+     */
+    public static int anchorOf(TileType type, Point topLeft) {
+        int[] corners = CORNERS[type.ordinal()];
+        return Bitboard.cellOf(topLeft.getX() - corners[0], topLeft.getY() - corners[1]);
+    }
+
+    /**
+     * Tells whether the corners of a tile form the shape of its type on the board.
+     *
+     * @param type the type of the tile
+     * @param topLeft  the top left co-ordinate of the tile
+     * @param topRight the top right co-ordinate of the tile
+     * @param botLeft  the bottom left co-ordinate of the tile
+     * @param botRight the bottom right co-ordinate of the tile
+     * @return whether the tile is valid
+     */
+    public static boolean isValid(TileType type, Point topLeft, Point topRight, Point botLeft, Point botRight) {
+        int[] c = CORNERS[type.ordinal()];
+        if (c == null) {
+            return false;
+        }
+        int x = topLeft.getX() - c[0];
+        int y = topLeft.getY() - c[1];
+        return isAnchor(x, y)
+                && topRight.getX() - c[2] == x && topRight.getY() - c[3] == y
+                && botLeft.getX() - c[4] == x && botLeft.getY() - c[5] == y
+                && botRight.getX() - c[6] == x && botRight.getY() - c[7] == y;
+    }
+}
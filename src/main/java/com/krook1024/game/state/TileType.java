@@ -52,6 +52,27 @@ public enum TileType {
         return values()[value];
     }
 
+    /**
+     * Returns the type of the mirror image of a tile of this type,
+     * reflected across a vertical axis.
+     *
+     * @return the type of the mirrored tile
+     */
+    public TileType mirrored() {
+        switch (this) {
+            case TYPE1:
+                return TYPE2;
+            case TYPE2:
+                return TYPE1;
+            case TYPE3:
+                return TYPE4;
+            case TYPE4:
+                return TYPE3;
+            default:
+                return this;
+        }
+    }
+
     /**
      * Returns the integer value that represents this instance.
      *
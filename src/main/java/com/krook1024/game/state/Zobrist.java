@@ -0,0 +1,94 @@
+package com.krook1024.game.state;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys of tiles on the board.
+ *
+ * <p>Every tile type at every anchor cell (the top left cell of its bounding box) is assigned
+ * a random 64-bit value, and the key of a position is the exclusive or of the values of its
+ * tiles, so stepping a tile updates the key with two exclusive ors. The values are drawn
+ * from a fixed seed, so keys are the same across runs.</p>
+ *
+ * <p>The mirrored key of a position is the key of the position reflected across the vertical
+ * axis of the board, where the L-shaped tile types turn into each other. A position and its
+ * mirror image are equally far from being solved, so caches can share an entry between them
+ * by using the smaller of the two keys.</p>
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5EED_51D3_6A3EL;
+
+    private static final long[][] KEYS = new long[TileType.values().length][Bitboard.CELLS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : KEYS) {
+            for (int cell = 0; cell < keys.length; cell++) {
+                keys[cell] = random.nextLong();
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a tile type anchored at a cell.
+     *
+     * @param type the type of the tile
+     * @param anchorX the x co-ordinate of the top left cell of the bounding box of the tile
+     * @param anchorY the y co-ordinate of the top left cell of the bounding box of the tile
+     * @return the key of the tile
+     */
+    public static long keyOf(TileType type, int anchorX, int anchorY) {
+        return KEYS[type.ordinal()][Bitboard.cellOf(anchorX, anchorY)];
+    }
+
+    /**
+     * Returns the key of the mirror image of a tile type anchored at a cell.
+     *
+     * @param type the type of the tile
+     * @param anchorX the x co-ordinate of the top left cell of the bounding box of the tile
+     * @param anchorY the y co-ordinate of the top left cell of the bounding box of the tile
+     * @return the key of the mirrored tile
+     */
+    public static long mirroredKeyOf(TileType type, int anchorX, int anchorY) {
+        return keyOf(type.mirrored(), Bitboard.WIDTH - 2 - anchorX, anchorY);
+    }
+
+    /**
+     * Returns the key of a tile.
+     *
+     * @param tile the tile
+     * @return the key of the tile at its current position
+     */
+    public static long keyOf(Tile tile) {
+        return KEYS[tile.getType().ordinal()][tile.getAnchor()];
+    }
+
+    /**
+     * Returns the key of the mirror image of a tile.
+     *
+     * @param tile the tile
+     * @return the key of the mirrored tile at its current position
+     */
+    public static long mirroredKeyOf(Tile tile) {
+        int anchor = tile.getAnchor();
+        return mirroredKeyOf(tile.getType(), anchor % Bitboard.WIDTH, anchor / Bitboard.WIDTH);
+    }
+
+    /**
+     * Returns the key of the position encoded in a packed {@link Bitboard} key.
+     *
+     * @param packed the packed key
+     * @return the Zobrist key of the position
+     */
+    public static long keyOfPacked(long packed) {
+        long key = 0;
+        for (int i = 0, size = Bitboard.packedSize(packed); i < size; i++) {
+            int b = (int) (packed >>> (8 * i)) & 0xFF;
+            key ^= KEYS[b >>> 5][b & 0x1F];
+        }
+        return key;
+    }
+}
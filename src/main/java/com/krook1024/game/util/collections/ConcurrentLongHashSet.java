@@ -0,0 +1,136 @@
+package com.krook1024.game.util.collections;
+
+/**
+ * A thread-safe set of {@code long} keys that does not box.
+ *
+ * <p>The set is split into stripes chosen by the high bits of the hash of a key. Every stripe
+ * is an open-addressing table guarded by its own lock, so threads adding keys that fall into
+ * different stripes do not contend. Key 0 is reserved to mark free slots and cannot be stored.</p>
+ */
+public class ConcurrentLongHashSet {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final Stripe[] stripes;
+
+    private final int stripeShift;
+
+    private static final class Stripe {
+        private long[] keys;
+
+        private int size;
+
+        Stripe(int capacity) {
+            keys = new long[capacity];
+        }
+
+        synchronized boolean add(long key, long hash) {
+            int slot = slotOf(keys, key, hash);
+            if (keys[slot] != 0) {
+                return false;
+            }
+            keys[slot] = key;
+            if (++size > keys.length * LOAD_FACTOR) {
+                long[] old = keys;
+                keys = new long[old.length * 2];
+                for (long k : old) {
+                    if (k != 0) {
+                        keys[slotOf(keys, k, LongIntHashMap.mix(k))] = k;
+                    }
+                }
+            }
+            return true;
+        }
+
+        synchronized boolean contains(long key, long hash) {
+            return keys[slotOf(keys, key, hash)] != 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long memoryBytes() {
+            return (long) keys.length * Long.BYTES;
+        }
+
+        private static int slotOf(long[] keys, long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Initializes a set.
+     *
+     * @param concurrency the expected number of threads adding keys at the same time
+     * @param expectedSize the expected number of keys
+     */
+    public ConcurrentLongHashSet(int concurrency, int expectedSize) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, concurrency * 4) - 1) << 1;
+        stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR / stripeCount)) - 1) << 1;
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key the key, which must not be 0
+     * @return whether the key was not in the set yet
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException();
+        }
+        long hash = LongIntHashMap.mix(key);
+        return stripeOf(hash).add(key, hash);
+    }
+
+    /**
+     * Tells whether a key is in the set.
+     *
+     * @param key the key
+     * @return whether {@code key} is in the set
+     */
+    public boolean contains(long key) {
+        long hash = LongIntHashMap.mix(key);
+        return stripeOf(hash).contains(key, hash);
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes taken by the tables of the set.
+     *
+     * @return the memory footprint of the set in bytes
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            bytes += stripe.memoryBytes();
+        }
+        return bytes;
+    }
+}
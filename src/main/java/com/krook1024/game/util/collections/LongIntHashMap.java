@@ -0,0 +1,136 @@
+package com.krook1024.game.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from {@code long} keys to {@code int} values that does not box.
+ * Key 0 is reserved to mark free slots and cannot be stored.
+ */
+public class LongIntHashMap {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int mask;
+
+    /**
+     * Initializes a map that can hold the expected number of entries without resizing.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Mixes the bits of a key, so that keys differing only in their high bits spread over the table.
+     *
+     * @param key the key
+     * @return the mixed hash of {@code key}
+     */
+    public static long mix(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    private int slotOf(long key) {
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the value mapped to a key.
+     *
+     * @param key the key
+     * @return the value mapped to {@code key}, or -1 if there is none
+     */
+    public int get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == 0 ? -1 : values[slot];
+    }
+
+    /**
+     * Tells whether a key is in the map.
+     *
+     * @param key the key
+     * @return whether {@code key} is in the map
+     */
+    public boolean containsKey(long key) {
+        return keys[slotOf(key)] != 0;
+    }
+
+    /**
+     * Maps a key to a value unless the key is already in the map.
+     *
+     * @param key the key, which must not be 0
+     * @param value the value
+     * @return whether the key has been added
+     */
+    public boolean putIfAbsent(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException();
+        }
+        int slot = slotOf(key);
+        if (keys[slot] != 0) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            grow();
+        }
+        return true;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry from the map.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of bytes taken by the tables of the map.
+     *
+     * @return the memory footprint of the map in bytes
+     */
+    public long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+}
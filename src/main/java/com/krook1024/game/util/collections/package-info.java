@@ -0,0 +1,4 @@
+/**
+ * Provides primitive collections used by the search and simulation code.
+ */
+package com.krook1024.game.util.collections;
@@ -0,0 +1,23 @@
+package com.krook1024.game.util.guice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * Makes transactional methods wait for the persistence service started by
+ * {@link JpaInitializer}. It must be bound before the interceptor of the
+ * {@link com.google.inject.persist.Transactional} annotation.
+ */
+class AwaitPersistenceInterceptor implements MethodInterceptor {
+    @Inject
+    private Provider<JpaInitializer> jpaInitializer;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        jpaInitializer.get().awaitReady();
+        return invocation.proceed();
+    }
+}
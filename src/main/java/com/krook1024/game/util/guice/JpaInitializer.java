@@ -1,23 +1,96 @@
 package com.krook1024.game.util.guice;
 
 import com.google.inject.persist.PersistService;
+import com.google.inject.persist.UnitOfWork;
+import com.krook1024.game.util.jpa.SchemaUpgrade;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This utility class initializes JPA.
+ *
+ * <p>The persistence service is started on a background thread, so that the application
+ * can show its first window while Hibernate is starting. Transactional methods wait for
+ * it to be ready, see {@link AwaitPersistenceInterceptor}. The {@link SchemaUpgrade}s bound
+ * by {@link PersistenceModule} are applied before it is ready, so no transactional method
+ * runs on a database that has not been upgraded.</p>
  */
+@Slf4j
 @Singleton
 public class JpaInitializer {
+    private final CompletableFuture<Void> ready;
 
     /**
-     * Starts the persistence service.
+     * Starts the persistence service in the background, and then applies the schema upgrades.
      * @param persistService the persistence service
+     * @param unitOfWork the unit of work the upgrades are applied in
+     * @param entityManagerProvider the provider of the entity manager of the upgrades
+     * @param upgrades the schema upgrades
      */
     @Inject
-    public JpaInitializer(PersistService persistService) {
-        persistService.start();
+    public JpaInitializer(PersistService persistService, UnitOfWork unitOfWork,
+                          Provider<EntityManager> entityManagerProvider, Set<SchemaUpgrade> upgrades) {
+        long startTime = System.nanoTime();
+        ready = CompletableFuture.runAsync(() -> {
+            persistService.start();
+            if (!upgrades.isEmpty()) {
+                upgrade(unitOfWork, entityManagerProvider, upgrades);
+            }
+            log.info("Persistence ready in {} ms", (System.nanoTime() - startTime) / 1000000);
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "persistence-start");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private static void upgrade(UnitOfWork unitOfWork, Provider<EntityManager> entityManagerProvider,
+                                Set<SchemaUpgrade> upgrades) {
+        unitOfWork.begin();
+        try {
+            EntityManager entityManager = entityManagerProvider.get();
+            EntityTransaction transaction = entityManager.getTransaction();
+            transaction.begin();
+            try {
+                for (SchemaUpgrade upgrade : upgrades) {
+                    upgrade.apply(entityManager);
+                }
+                transaction.commit();
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+            }
+        } finally {
+            unitOfWork.end();
+        }
+    }
+
+    /**
+     * Returns the future that completes when the persistence service has started.
+     * @return the future of the start of the persistence service
+     */
+    public CompletableFuture<Void> getReady() {
+        return ready;
+    }
+
+    /**
+     * Waits until the persistence service has started.
+     * @throws IllegalStateException if the persistence service has failed to start
+     */
+    public void awaitReady() {
+        try {
+            ready.join();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Persistence has failed to start", e.getCause());
+        }
     }
 
 }
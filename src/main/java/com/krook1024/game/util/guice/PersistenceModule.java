@@ -1,25 +1,95 @@
 package com.krook1024.game.util.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.persist.Transactional;
 import com.google.inject.persist.jpa.JpaPersistModule;
+import com.krook1024.game.results.GameResultDifficulty;
+import com.krook1024.game.results.GameResultIdSequence;
+import com.krook1024.game.util.jpa.SchemaUpgrade;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class represents a persistence module.
+ *
+ * <p>The persistence service is started in the background by {@link JpaInitializer}, and
+ * transactional methods wait for it. On top of the persistence unit, the module configures
+ * a HikariCP connection pool, the {@link SchemaUpgrade}s of the application and the profile
+ * the application runs in. The profile is read from the {@value #PROFILE_PROPERTY} system
+ * property, and in the {@value #PRODUCTION} profile the schema script is not written on
+ * startup.</p>
  */
 public class PersistenceModule extends AbstractModule {
+    /**
+     * The name of the system property that selects the profile.
+     */
+    public static final String PROFILE_PROPERTY = "slidergame.profile";
+
+    /**
+     * The default profile, which writes the schema script on startup.
+     */
+    public static final String DEVELOPMENT = "development";
+
+    /**
+     * The profile that skips writing the schema script.
+     */
+    public static final String PRODUCTION = "production";
+
     private String jpaUnit;
 
+    private Map<String, String> overrides;
+
     /**
      * Initializes an object with the {@code jpaUnit} variable.
      * @param jpaUnit the {@code jpaUnit} variable.
      */
     public PersistenceModule(String jpaUnit) {
+        this(jpaUnit, Map.of());
+    }
+
+    /**
+     * Initializes an object with the {@code jpaUnit} variable and properties that override
+     * the ones of the persistence unit and the module.
+     * @param jpaUnit the {@code jpaUnit} variable.
+     * @param overrides the properties to override
+     */
+    public PersistenceModule(String jpaUnit, Map<String, String> overrides) {
         this.jpaUnit = jpaUnit;
+        this.overrides = overrides;
+    }
+
+    /**
+     * Returns the properties the module passes to the persistence unit.
+     * @return the properties of the persistence unit
+     */
+    public Map<String, String> getProperties() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
+        properties.put("hibernate.hikari.poolName", jpaUnit);
+        properties.put("hibernate.hikari.maximumPoolSize", "4");
+        properties.put("hibernate.hikari.minimumIdle", "1");
+        properties.put("hibernate.query.plan_cache_max_size", "256");
+        properties.put("hibernate.query.plan_parameter_metadata_max_size", "64");
+        if (PRODUCTION.equals(System.getProperty(PROFILE_PROPERTY, DEVELOPMENT))) {
+            properties.put("javax.persistence.schema-generation.scripts.action", "none");
+        }
+        properties.putAll(overrides);
+        return properties;
     }
 
     @Override
     protected void configure() {
-        install(new JpaPersistModule(jpaUnit));
+        AwaitPersistenceInterceptor awaitPersistenceInterceptor = new AwaitPersistenceInterceptor();
+        requestInjection(awaitPersistenceInterceptor);
+        bindInterceptor(Matchers.annotatedWith(Transactional.class), Matchers.any(), awaitPersistenceInterceptor);
+        bindInterceptor(Matchers.any(), Matchers.annotatedWith(Transactional.class), awaitPersistenceInterceptor);
+        install(new JpaPersistModule(jpaUnit).properties(getProperties()));
+        Multibinder<SchemaUpgrade> upgrades = Multibinder.newSetBinder(binder(), SchemaUpgrade.class);
+        upgrades.addBinding().to(GameResultIdSequence.class);
+        upgrades.addBinding().to(GameResultDifficulty.class);
         bind(JpaInitializer.class).asEagerSingleton();
     }
 
@@ -1,12 +1,21 @@
 package com.krook1024.game.util.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
 
 import com.google.inject.persist.Transactional;
 
@@ -19,7 +28,7 @@ import com.google.inject.persist.Transactional;
 public abstract class GenericJpaDao<T> {
 
     protected Class<T> entityClass;
-    protected EntityManager entityManager;
+    protected Provider<EntityManager> entityManagerProvider;
 
     /**
      * Constructs a {@code GenericJpaDao} object.
@@ -32,22 +41,23 @@ public abstract class GenericJpaDao<T> {
     }
 
     /**
-     * Returns the underlying {@link EntityManager} instance.
+     * Returns the {@link EntityManager} instance of the current thread.
      *
-     * @return the underlying {@link EntityManager} instance
+     * @return the {@link EntityManager} instance of the current thread
      */
     public EntityManager getEntityManager() {
-        return entityManager;
+        return entityManagerProvider.get();
     }
 
     /**
-     * Sets the underlying {@link EntityManager} instance.
+     * Sets the provider of the underlying {@link EntityManager} instances. The DAO
+     * looks up the instance on every call, so that it can be used from any thread.
      *
-     * @param entityManager the underlying {@link EntityManager} instance
+     * @param entityManagerProvider the provider of the underlying {@link EntityManager} instances
      */
     @Inject
-    public void setEntityManager(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public void setEntityManagerProvider(Provider<EntityManager> entityManagerProvider) {
+        this.entityManagerProvider = entityManagerProvider;
     }
 
     /**
@@ -57,7 +67,24 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void persist(T entity) {
-        entityManager.persist(entity);
+        getEntityManager().persist(entity);
+    }
+
+    /**
+     * Persists the specified entity instances in the database in a single transaction.
+     * The inserts are sent in JDBC batches of {@code hibernate.jdbc.batch_size}, and the
+     * instances are detached afterwards.
+     *
+     * @param entities the entity instances to be persisted in the database
+     */
+    @Transactional
+    public void persistAll(Collection<? extends T> entities) {
+        EntityManager entityManager = getEntityManager();
+        for (T entity : entities) {
+            entityManager.persist(entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
     }
 
     /**
@@ -71,7 +98,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public Optional<T> find(Object primaryKey) {
-        return Optional.ofNullable(entityManager.find(entityClass, primaryKey));
+        return Optional.ofNullable(getEntityManager().find(entityClass, primaryKey));
     }
 
     /**
@@ -81,10 +108,62 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public List<T> findAll() {
-        TypedQuery<T> typedQuery = entityManager.createQuery("FROM " + entityClass.getSimpleName(), entityClass);
+        TypedQuery<T> typedQuery = getEntityManager().createQuery("FROM " + entityClass.getSimpleName(), entityClass);
         return typedQuery.getResultList();
     }
 
+    /**
+     * Returns a page of instances of the entity class from the database in the order of
+     * their primary key. The next page starts after the primary key of the last instance
+     * of the page, so that reading a page does not need to skip the previous ones.
+     *
+     * @param afterId the primary key after which the page starts, or {@code null} for the first page
+     * @param size the maximum number of instances to be returned
+     * @param <K> the type of the primary key
+     * @return the instances of the entity class with a primary key greater than {@code afterId}
+     */
+    @Transactional
+    public <K extends Comparable<? super K>> List<T> findPage(K afterId, int size) {
+        EntityManager entityManager = getEntityManager();
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        Path<K> id = root.get(idName);
+        if (afterId != null) {
+            query.where(builder.greaterThan(id, afterId));
+        }
+        query.orderBy(builder.asc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Passes every instance of the entity class in the database to a function as a
+     * {@link Stream}, in a single transaction. The instances are fetched from a scrollable
+     * result set {@code fetchSize} rows at a time and are detached as they are read, so
+     * the memory used does not grow with the number of instances. The stream must not be
+     * used after the function returns.
+     *
+     * @param fetchSize the number of rows fetched from the database at a time
+     * @param function the function that consumes the stream
+     * @param <R> the type of the result of the function
+     * @return the result of the function
+     */
+    @Transactional
+    public <R> R streamAll(int fetchSize, Function<Stream<T>, R> function) {
+        EntityManager entityManager = getEntityManager();
+        TypedQuery<T> typedQuery = entityManager.createQuery("FROM " + entityClass.getSimpleName(), entityClass)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true);
+        try (Stream<T> stream = typedQuery.getResultStream()) {
+            return function.apply(stream.peek(entityManager::detach));
+        }
+    }
+
     /**
      * Removes the specified entity instance from the database.
      *
@@ -92,7 +171,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void remove(T entity) {
-        entityManager.remove(entity);
+        getEntityManager().remove(entity);
     }
 
     /**
@@ -102,7 +181,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void update(T entity) {
-        entityManager.merge(entity);
+        getEntityManager().merge(entity);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.krook1024.game.util.jpa;
+
+import javax.persistence.EntityManager;
+
+/**
+ * A change to an existing database that the schema update of the persistence unit cannot
+ * make itself.
+ *
+ * <p>Upgrades are run by {@link com.krook1024.game.util.guice.JpaInitializer} in a single
+ * transaction right after the persistence service has started, before any transactional
+ * method is let through. They must be idempotent, since they are run on every start.</p>
+ */
+@FunctionalInterface
+public interface SchemaUpgrade {
+    /**
+     * Applies the upgrade.
+     *
+     * @param entityManager the entity manager, with a transaction begun
+     */
+    void apply(EntityManager entityManager);
+}
@@ -0,0 +1,61 @@
+package com.krook1024.game.board;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.state.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardDefinitionTest {
+    @Test
+    void standard() {
+        BoardDefinition definition = BoardDefinition.standard();
+        assertEquals(Bitboard.WIDTH, definition.getWidth());
+        assertEquals(Bitboard.HEIGHT, definition.getHeight());
+        assertEquals(SliderState.INITIAL.size(), definition.getPieces().size());
+        assertEquals(SliderState.INITIAL.size() - 1, definition.getTarget());
+
+        Bitboard initial = Bitboard.of(SliderState.INITIAL);
+        for (int i = 0; i < SliderState.INITIAL.size(); i++) {
+            Tile tile = SliderState.INITIAL.get(i);
+            PieceDefinition piece = definition.getPieces().get(i);
+            assertEquals(Character.forDigit(tile.getType().getValue(), 10), piece.getSymbol());
+            assertEquals(initial.getAnchor(i), Bitboard.cellOf(piece.getStartX(), piece.getStartY()));
+            assertEquals(Long.bitCount(initial.getMask(i)), piece.size());
+        }
+    }
+
+    @Test
+    void parse() {
+        BoardDefinition definition = BoardDefinition.parse(List.of(
+                "# comment",
+                "target=a",
+                "",
+                "bb.a",
+                ".b.a"));
+        assertEquals(4, definition.getWidth());
+        assertEquals(2, definition.getHeight());
+        assertEquals(0, definition.getTarget());
+        PieceDefinition b = definition.getPieces().get(1);
+        assertEquals('b', b.getSymbol());
+        assertEquals(2, b.getBoxWidth());
+        assertEquals(2, b.getBoxHeight());
+        assertTrue(b.covers(0, 0));
+        assertFalse(b.covers(0, 1));
+        assertTrue(b.covers(1, 1));
+        assertEquals(3, b.size());
+    }
+
+    @Test
+    void parseInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.parse(List.of("#", "")));
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.parse(List.of("...", "..")));
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.parse(List.of("...", "...")));
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.parse(List.of("target=x", "a..")));
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.parse(List.of("a".repeat(17))));
+        assertThrows(IllegalArgumentException.class, () -> BoardDefinition.load("/boards/missing.board"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.krook1024.game.board;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+    @Test
+    void matchesBitboard() {
+        Board board = new Board(new BoardGeometry(BoardDefinition.standard()));
+        Bitboard bitboard = Bitboard.of(SliderState.INITIAL);
+        SplittableRandom random = new SplittableRandom(42);
+        int solved = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int piece = random.nextInt(board.getGeometry().pieces());
+            int direction = random.nextInt(BoardGeometry.DIRECTIONS);
+            Move move = Move.of(piece, Move.DIRECTIONS.get(direction));
+            assertEquals(bitboard.stepTileWithIndex(piece, move.getDirection(), move.getAxis()), board.move(piece, direction));
+            assertEquals(bitboard.isSolved(), board.isSolved());
+            if (board.isSolved()) {
+                solved++;
+            }
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                assertEquals((bitboard.getOccupancy() & (1L << cell)) != 0, board.isOccupied(cell));
+            }
+            for (int p = 0; p < bitboard.size(); p++) {
+                assertEquals(bitboard.getAnchor(p), board.getAnchor(p));
+            }
+        }
+        assertTrue(solved > 0);
+    }
+
+    @Test
+    void largeBoard() {
+        BoardDefinition definition = BoardDefinition.parse(List.of(
+                "AA..............",
+                "A...............",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "................",
+                "..........BBBB..",
+                "..........B.....",
+                "...............C"));
+        BoardGeometry geometry = new BoardGeometry(definition);
+        assertEquals(4, geometry.getWords());
+        assertEquals(8, geometry.getAnchorBits());
+        Board board = new Board(geometry);
+        assertFalse(board.move(2, 1));
+        assertFalse(board.move(2, 3));
+        assertTrue(board.move(2, 2));
+        assertTrue(board.move(2, 0));
+        for (int i = 0; i < 13; i++) {
+            assertTrue(board.move(1, 2));
+        }
+        assertFalse(board.move(1, 2));
+        assertTrue(board.isOccupied(geometry.cellOf(10, 1)));
+        assertFalse(board.isOccupied(geometry.cellOf(10, 13)));
+
+        Board copy = new Board(geometry);
+        copy.unpack(board.pack());
+        assertEquals(board, copy);
+        assertEquals(board.toString(), copy.toString());
+        assertEquals(definition.getPieces().size(),
+                BoardDefinition.parse(List.of(board.toString().split("\n"))).getPieces().size());
+    }
+
+    @Test
+    void solved() {
+        Board board = new Board(new BoardGeometry(BoardDefinition.parse(List.of(
+                "abb.",
+                "aTT.",
+                "aTTc",
+                "dddc",
+                "target=T"))));
+        assertEquals(0, board.getGeometry().getTarget());
+        assertFalse(board.isSolved());
+        assertTrue(board.move(3, 2));
+        assertTrue(board.isSolved());
+        Board edge = new Board(new BoardGeometry(BoardDefinition.parse(List.of(
+                "TTa",
+                "TTa",
+                "bbb"))));
+        assertFalse(edge.isSolved());
+    }
+}
@@ -0,0 +1,21 @@
+package com.krook1024.game.controller;
+
+import com.krook1024.game.state.TileType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileImagesTest {
+    @Test
+    void urls() {
+        List<String> urls = TileImages.urls();
+        assertEquals(TileType.values().length - 1, urls.size());
+        for (TileType type : TileType.values()) {
+            if (type != TileType.EMPTY) {
+                assertTrue(urls.get(type.getValue() - 1).endsWith("/rectangle/" + type.getValue() + ".png"));
+            }
+        }
+    }
+}
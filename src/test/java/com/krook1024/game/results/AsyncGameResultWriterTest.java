@@ -0,0 +1,119 @@
+package com.krook1024.game.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncGameResultWriterTest {
+    private static class RecordingDao extends GameResultDao {
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        private final List<GameResult> saved = new ArrayList<>();
+
+        @Override
+        public synchronized void persistAll(Collection<? extends GameResult> entities) {
+            batchSizes.add(entities.size());
+            saved.addAll(entities);
+        }
+    }
+
+    private static GameResult result(int steps) {
+        return GameResult.builder().player("test").steps(steps).duration(Duration.ZERO).build();
+    }
+
+    @Test
+    void submitAndFlush() throws InterruptedException {
+        RecordingDao dao = new RecordingDao();
+        try (AsyncGameResultWriter writer = new AsyncGameResultWriter(dao, 10_000, 100)) {
+            for (int i = 0; i < 5000; i++) {
+                assertTrue(writer.submit(result(i)));
+            }
+            assertTrue(writer.flush(Duration.ofSeconds(10)));
+            assertEquals(0, writer.getQueueDepth());
+            assertEquals(5000, writer.getWrittenCount());
+            assertEquals(writer.getFlushCount(), dao.batchSizes.size());
+            assertTrue(dao.batchSizes.stream().allMatch(size -> size <= 100));
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i, dao.saved.get(i).getSteps());
+            }
+        }
+    }
+
+    @Test
+    void submitWhenFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GameResultDao dao = new GameResultDao() {
+            @Override
+            public void persistAll(Collection<? extends GameResult> entities) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AsyncGameResultWriter writer = new AsyncGameResultWriter(dao, 2, 10);
+        assertTrue(writer.submit(result(0)));
+        blocked.await();
+        assertTrue(writer.submit(result(1)));
+        assertTrue(writer.submit(result(2)));
+        assertFalse(writer.submit(result(3)));
+        assertEquals(2, writer.getQueueDepth());
+        release.countDown();
+        writer.close();
+        assertEquals(3, writer.getWrittenCount());
+        assertFalse(writer.submit(result(4)));
+    }
+
+    @Test
+    void closeWritesQueuedResults() {
+        RecordingDao dao = new RecordingDao();
+        AsyncGameResultWriter writer = new AsyncGameResultWriter(dao, 100, 10);
+        List<GameResult> listened = new ArrayList<>();
+        writer.addListener(listened::addAll);
+        for (int i = 0; i < 50; i++) {
+            writer.submit(result(i));
+        }
+        writer.close();
+        assertEquals(50, dao.saved.size());
+        assertEquals(dao.saved, listened);
+    }
+
+    @Test
+    void closeWhileSubmitting() throws InterruptedException {
+        RecordingDao dao = new RecordingDao();
+        AsyncGameResultWriter writer = new AsyncGameResultWriter(dao, 100_000, 100);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < 10_000; i++) {
+                    if (writer.submit(result(i))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            submitters.add(thread);
+        }
+        started.await();
+        writer.close();
+        for (Thread thread : submitters) {
+            thread.join();
+        }
+        assertEquals(accepted.get(), writer.getWrittenCount());
+        assertEquals(accepted.get(), dao.saved.size());
+        assertTrue(writer.flush(Duration.ZERO));
+    }
+}
@@ -0,0 +1,106 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.util.guice.PersistenceModule;
+import com.krook1024.game.session.Difficulty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultDaoTest {
+    private PersistService persistService;
+
+    private GameResultDao gameResultDao;
+
+    @BeforeEach
+    void setUp() {
+        Injector injector = Guice.createInjector(new PersistenceModule("slidergame", Map.of(
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:game-result-dao-test",
+                "javax.persistence.schema-generation.database.action", "drop-and-create",
+                "javax.persistence.schema-generation.scripts.action", "none")));
+        persistService = injector.getInstance(PersistService.class);
+        gameResultDao = injector.getInstance(GameResultDao.class);
+
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            results.add(GameResult.builder()
+                    .player("player" + i % 3)
+                    .solved(i % 2 == 0)
+                    .steps(i)
+                    .duration(Duration.ofSeconds(1000 - i))
+                    .build());
+        }
+        gameResultDao.persistAll(results);
+    }
+
+    @AfterEach
+    void tearDown() {
+        persistService.stop();
+    }
+
+    @Test
+    void findBest() {
+        List<GameResult> best = gameResultDao.findBest(Difficulty.CLASSIC, 3);
+        assertEquals(List.of(118, 116, 114), best.stream().map(GameResult::getSteps).collect(Collectors.toList()));
+        assertEquals(best.stream().map(GameResultSummary::of).collect(Collectors.toList()),
+                gameResultDao.findBestSummaries(Difficulty.CLASSIC, 3));
+    }
+
+    @Test
+    void findBestOfDifficulty() {
+        gameResultDao.persistAll(List.of(
+                GameResult.builder().player("easy").difficulty(Difficulty.EASY).solved(true).steps(12).duration(Duration.ofSeconds(1)).build(),
+                GameResult.builder().player("hard").difficulty(Difficulty.HARD).solved(true).steps(40).duration(Duration.ofSeconds(2)).build()));
+        assertEquals(List.of(118, 116), gameResultDao.findBestSummaries(Difficulty.CLASSIC, 2).stream()
+                .map(GameResultSummary::getSteps).collect(Collectors.toList()));
+        assertEquals(List.of("easy"), gameResultDao.findBest(Difficulty.EASY, 3).stream()
+                .map(GameResult::getPlayer).collect(Collectors.toList()));
+        assertTrue(gameResultDao.findBestSummaries(Difficulty.MEDIUM, 3).isEmpty());
+    }
+
+    @Test
+    void findPage() {
+        List<Long> ids = new ArrayList<>();
+        List<GameResult> page = gameResultDao.findPage(null, 50);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 50);
+            page.forEach(result -> ids.add(result.getId()));
+            page = gameResultDao.findPage(page.get(page.size() - 1).getId(), 50);
+        }
+        assertEquals(120, ids.size());
+        assertEquals(ids.stream().sorted().distinct().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    void findSummaryPage() {
+        List<GameResultSummary> page = gameResultDao.findSummaryPage(0, 50);
+        assertEquals(gameResultDao.findPage(null, 50).stream().map(GameResultSummary::of).collect(Collectors.toList()), page);
+        Long afterId = page.get(page.size() - 1).getId();
+        assertEquals(gameResultDao.findPage(afterId, 100).stream().map(GameResultSummary::of).collect(Collectors.toList()),
+                gameResultDao.findSummaryPage(afterId, 100));
+    }
+
+    @Test
+    void streamSummaries() {
+        long solved = gameResultDao.streamSummaries(16, stream -> stream.filter(GameResultSummary::isSolved).count());
+        assertEquals(60, solved);
+    }
+
+    @Test
+    void streamAll() {
+        long solved = gameResultDao.streamAll(16, stream -> stream.filter(GameResult::isSolved).count());
+        assertEquals(60, solved);
+        boolean detached = gameResultDao.streamAll(16, stream -> stream.noneMatch(gameResultDao.getEntityManager()::contains));
+        assertTrue(detached);
+    }
+}
@@ -0,0 +1,63 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.session.Difficulty;
+import com.krook1024.game.util.guice.PersistenceModule;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultDifficultyTest {
+    private static final String URL = "jdbc:h2:mem:game-result-difficulty-test;DB_CLOSE_DELAY=-1";
+
+    private static Injector injector(String action) {
+        return Guice.createInjector(new PersistenceModule("slidergame", Map.of(
+                "javax.persistence.jdbc.url", URL,
+                "javax.persistence.schema-generation.database.action", action,
+                "javax.persistence.schema-generation.scripts.action", "none")));
+    }
+
+    private static void execute(EntityManager entityManager, String sql) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery(sql).executeUpdate();
+        entityManager.getTransaction().commit();
+    }
+
+    @Test
+    void upgradeExistingDatabase() {
+        Injector old = injector("drop-and-create");
+        GameResultDao oldDao = old.getInstance(GameResultDao.class);
+        List<GameResult> existing = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            existing.add(GameResult.builder().player("player").solved(true).steps(i).duration(Duration.ofSeconds(i)).build());
+        }
+        oldDao.persistAll(existing);
+        // A database written before the difficulty was recorded has no difficulties and the old index
+        EntityManager entityManager = oldDao.getEntityManager();
+        execute(entityManager, "UPDATE GameResult SET difficulty = NULL");
+        execute(entityManager, "CREATE INDEX " + GameResultDifficulty.OLD_BEST_INDEX + " ON GameResult (solved, duration, created DESC)");
+        old.getInstance(PersistService.class).stop();
+
+        Injector upgraded = injector("update");
+        try {
+            GameResultDao dao = upgraded.getInstance(GameResultDao.class);
+            assertEquals(10, dao.findBest(Difficulty.CLASSIC, 20).size());
+            BigInteger oldIndexes = (BigInteger) dao.getEntityManager().createNativeQuery(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(INDEX_NAME) = ?1")
+                    .setParameter(1, GameResultDifficulty.OLD_BEST_INDEX)
+                    .getSingleResult();
+            assertEquals(BigInteger.ZERO, oldIndexes);
+        } finally {
+            upgraded.getInstance(PersistService.class).stop();
+        }
+    }
+}
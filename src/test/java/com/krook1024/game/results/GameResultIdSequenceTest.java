@@ -0,0 +1,65 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.util.guice.PersistenceModule;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultIdSequenceTest {
+    private static final String URL = "jdbc:h2:mem:game-result-id-sequence-test;DB_CLOSE_DELAY=-1";
+
+    private static Injector injector(String action) {
+        return Guice.createInjector(new PersistenceModule("slidergame", Map.of(
+                "javax.persistence.jdbc.url", URL,
+                "javax.persistence.schema-generation.database.action", action,
+                "javax.persistence.schema-generation.scripts.action", "none")));
+    }
+
+    private static List<GameResult> results(int n) {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            results.add(GameResult.builder().player("player").steps(i).duration(Duration.ofSeconds(i)).build());
+        }
+        return results;
+    }
+
+    @Test
+    void upgradeExistingDatabase() {
+        Injector old = injector("drop-and-create");
+        GameResultDao oldDao = old.getInstance(GameResultDao.class);
+        List<GameResult> existing = results(120);
+        oldDao.persistAll(existing);
+        // A database written before the sequence existed has results but a new sequence
+        EntityManager entityManager = oldDao.getEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("ALTER SEQUENCE " + GameResult.ID_SEQUENCE + " RESTART WITH 1").executeUpdate();
+        entityManager.getTransaction().commit();
+        old.getInstance(PersistService.class).stop();
+
+        Injector upgraded = injector("update");
+        try {
+            List<GameResult> added = results(120);
+            upgraded.getInstance(GameResultDao.class).persistAll(added);
+            long maxId = existing.stream().mapToLong(GameResult::getId).max().orElseThrow();
+            Set<Long> ids = new HashSet<>();
+            for (GameResult result : added) {
+                assertTrue(result.getId() > maxId);
+                assertTrue(ids.add(result.getId()));
+            }
+            assertEquals(240, upgraded.getInstance(GameResultDao.class).findAll().size());
+        } finally {
+            upgraded.getInstance(PersistService.class).stop();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.krook1024.game.results;
+
+import com.krook1024.game.session.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+    private static class InMemoryDao extends GameResultDao {
+        private final List<GameResult> results = new ArrayList<>();
+
+        private int queries;
+
+        @Override
+        public List<GameResultSummary> findBestSummaries(Difficulty difficulty, int n) {
+            queries++;
+            return results.stream()
+                    .filter(result -> result.isSolved() && result.getDifficulty() == difficulty)
+                    .map(GameResultSummary::of)
+                    .sorted(Leaderboard.ORDER)
+                    .limit(n)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static GameResult result(long id, boolean solved, int seconds) {
+        return result(id, Difficulty.CLASSIC, solved, seconds);
+    }
+
+    private static GameResult result(long id, Difficulty difficulty, boolean solved, int seconds) {
+        return new GameResult(id, "player" + id, difficulty, solved, 10, Duration.ofSeconds(seconds), null, NOW.plusSeconds(id));
+    }
+
+    @Test
+    void findBest() {
+        InMemoryDao dao = new InMemoryDao();
+        dao.results.addAll(List.of(result(1, true, 30), result(2, false, 5), result(3, true, 20), result(4, true, 30)));
+        Leaderboard leaderboard = new Leaderboard(dao, 3);
+
+        assertEquals(List.of(3L, 4L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        assertEquals(List.of(3L), ids(leaderboard.findBest(Difficulty.CLASSIC, 1)));
+        assertEquals(1, dao.queries);
+
+        leaderboard.findBest(Difficulty.CLASSIC, 5);
+        assertEquals(2, dao.queries);
+    }
+
+    @Test
+    void addAll() {
+        InMemoryDao dao = new InMemoryDao();
+        dao.results.addAll(List.of(result(1, true, 30), result(3, true, 20)));
+        Leaderboard leaderboard = new Leaderboard(dao, 3);
+        leaderboard.addAll(List.of(result(5, true, 40)));
+        assertEquals(List.of(3L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+
+        leaderboard.addAll(List.of(result(5, true, 40), result(6, true, 10), result(7, false, 1), result(8, true, 50)));
+        assertEquals(List.of(6L, 3L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        leaderboard.addAll(List.of(result(3, true, 20)));
+        assertEquals(List.of(6L, 3L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        assertEquals(1, dao.queries);
+
+        leaderboard.invalidate();
+        assertEquals(List.of(3L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        assertEquals(2, dao.queries);
+    }
+
+    @Test
+    void findBestOfDifficulty() {
+        InMemoryDao dao = new InMemoryDao();
+        dao.results.addAll(List.of(result(1, true, 30), result(2, Difficulty.EASY, true, 5), result(3, Difficulty.HARD, true, 50)));
+        Leaderboard leaderboard = new Leaderboard(dao, 3);
+        assertEquals(List.of(1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        assertEquals(List.of(2L), ids(leaderboard.findBest(Difficulty.EASY, 3)));
+
+        leaderboard.addAll(List.of(result(4, Difficulty.EASY, true, 1), result(5, Difficulty.HARD, true, 1)));
+        assertEquals(List.of(1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 3)));
+        assertEquals(List.of(4L, 2L), ids(leaderboard.findBest(Difficulty.EASY, 3)));
+        assertEquals(2, dao.queries);
+        dao.results.add(result(5, Difficulty.HARD, true, 1));
+        assertEquals(List.of(5L, 3L), ids(leaderboard.findBest(Difficulty.HARD, 3)));
+        assertEquals(3, dao.queries);
+    }
+
+    @Test
+    void followsWriter() throws InterruptedException {
+        InMemoryDao dao = new InMemoryDao() {
+            @Override
+            public synchronized void persistAll(java.util.Collection<? extends GameResult> entities) {
+                super.results.addAll(entities);
+            }
+        };
+        try (AsyncGameResultWriter writer = new AsyncGameResultWriter(dao)) {
+            Leaderboard leaderboard = new Leaderboard(dao, writer);
+            assertTrue(leaderboard.findBest(Difficulty.CLASSIC, 10).isEmpty());
+            writer.submit(result(1, true, 30));
+            writer.submit(result(2, true, 10));
+            assertTrue(writer.flush(Duration.ofSeconds(10)));
+            assertEquals(List.of(2L, 1L), ids(leaderboard.findBest(Difficulty.CLASSIC, 10)));
+            assertEquals(1, dao.queries);
+        }
+    }
+
+    private static List<Long> ids(List<GameResultSummary> results) {
+        return results.stream().map(GameResultSummary::getId).collect(Collectors.toList());
+    }
+}
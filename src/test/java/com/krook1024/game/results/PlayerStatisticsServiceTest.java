@@ -0,0 +1,109 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.util.guice.PersistenceModule;
+import com.krook1024.game.session.Difficulty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatisticsServiceTest {
+    private PersistService persistService;
+
+    private GameResultDao gameResultDao;
+
+    private AsyncGameResultWriter gameResultWriter;
+
+    private PlayerStatisticsService playerStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        Injector injector = Guice.createInjector(new PersistenceModule("slidergame", Map.of(
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:player-statistics-service-test",
+                "javax.persistence.schema-generation.database.action", "drop-and-create",
+                "javax.persistence.schema-generation.scripts.action", "none")));
+        persistService = injector.getInstance(PersistService.class);
+        gameResultDao = injector.getInstance(GameResultDao.class);
+        gameResultWriter = injector.getInstance(AsyncGameResultWriter.class);
+        playerStatisticsService = injector.getInstance(PlayerStatisticsService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameResultWriter.close();
+        persistService.stop();
+    }
+
+    private void persist(int from, int to) {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            results.add(GameResult.builder()
+                    .player("player" + i % 3)
+                    .solved(i % 2 == 0)
+                    .steps(100 - i)
+                    .duration(Duration.ofSeconds(10 + i))
+                    .build());
+        }
+        gameResultDao.persistAll(results);
+    }
+
+    @Test
+    void update() {
+        assertTrue(playerStatisticsService.find("player0").isEmpty());
+        persist(0, 30);
+        assertEquals(30, playerStatisticsService.update());
+        assertEquals(0, playerStatisticsService.update());
+        persist(30, 40);
+        assertEquals(10, playerStatisticsService.update());
+
+        PlayerStatistics statistics = playerStatisticsService.find("player0").orElseThrow();
+        assertEquals(14, statistics.getGames());
+        assertEquals(7, statistics.getSolved());
+        assertEquals(0.5, statistics.getSolveRate());
+        assertEquals(Duration.ofSeconds(10), statistics.getBestDuration());
+        assertEquals(100 - 36, statistics.getFewestSteps());
+        for (String player : List.of("player0", "player1", "player2")) {
+            assertEquals(playerStatisticsService.aggregate(player), playerStatisticsService.find(player).orElseThrow());
+        }
+    }
+
+    @Test
+    void updateAfterWrite() throws InterruptedException {
+        gameResultWriter.submit(GameResult.builder().player("writer").solved(true).steps(5).duration(Duration.ofSeconds(3)).build());
+        assertTrue(gameResultWriter.flush(Duration.ofSeconds(10)));
+        assertEquals(1, playerStatisticsService.find("writer").orElseThrow().getGames());
+    }
+
+    @Test
+    void recordsOfClassicGames() {
+        gameResultDao.persistAll(List.of(
+                GameResult.builder().player("player").solved(true).steps(60).duration(Duration.ofSeconds(90)).build(),
+                GameResult.builder().player("player").difficulty(Difficulty.EASY).solved(true).steps(12).duration(Duration.ofSeconds(9)).build()));
+        assertEquals(2, playerStatisticsService.update());
+        PlayerStatistics statistics = playerStatisticsService.find("player").orElseThrow();
+        assertEquals(2, statistics.getSolved());
+        assertEquals(Duration.ofSeconds(90), statistics.getBestDuration());
+        assertEquals(60, statistics.getFewestSteps());
+        assertEquals(playerStatisticsService.aggregate("player"), statistics);
+    }
+
+    @Test
+    void rebuild() {
+        persist(0, 40);
+        assertEquals(3, playerStatisticsService.rebuild());
+        for (String player : List.of("player0", "player1", "player2")) {
+            assertEquals(playerStatisticsService.aggregate(player), playerStatisticsService.find(player).orElseThrow());
+        }
+        assertEquals(0, playerStatisticsService.update());
+        assertEquals(0, playerStatisticsService.aggregate("nobody").getGames());
+    }
+}
@@ -0,0 +1,145 @@
+package com.krook1024.game.results;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.krook1024.game.session.RandomPlayer;
+import com.krook1024.game.session.ScriptedPlayer;
+import com.krook1024.game.session.SimulationRunner;
+import com.krook1024.game.solver.PuzzleGenerator;
+import com.krook1024.game.state.SliderState;
+import com.krook1024.game.util.guice.PersistenceModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayVerifierTest {
+    private PersistService persistService;
+
+    private GameResultDao gameResultDao;
+
+    private ReplayVerifier replayVerifier;
+
+    private final SimulationRunner runner = new SimulationRunner(1);
+
+    @BeforeEach
+    void setUp() {
+        Injector injector = Guice.createInjector(new PersistenceModule("slidergame", Map.of(
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:replay-verifier-test",
+                "javax.persistence.schema-generation.database.action", "drop-and-create",
+                "javax.persistence.schema-generation.scripts.action", "none")));
+        persistService = injector.getInstance(PersistService.class);
+        gameResultDao = injector.getInstance(GameResultDao.class);
+        replayVerifier = injector.getInstance(ReplayVerifier.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        persistService.stop();
+    }
+
+    private GameResult solved() {
+        return runner.play(ScriptedPlayer.solving(new SliderState()), new SliderState());
+    }
+
+    private GameResult unsolved(long seed) {
+        return runner.play(new RandomPlayer(seed, 1), new SliderState());
+    }
+
+    @Test
+    void check() {
+        assertTrue(replayVerifier.check(solved()).isEmpty());
+        assertTrue(replayVerifier.check(unsolved(1)).isEmpty());
+
+        SliderState generated = new PuzzleGenerator().generate(10, 20, new SplittableRandom(42));
+        assertTrue(replayVerifier.check(runner.play(ScriptedPlayer.solving(generated), generated)).isEmpty());
+
+        GameResult forged = unsolved(1);
+        forged.setSolved(true);
+        assertTrue(replayVerifier.check(forged).isPresent());
+
+        GameResult miscounted = solved();
+        miscounted.setSteps(miscounted.getSteps() - 1);
+        assertTrue(replayVerifier.check(miscounted).isPresent());
+
+        GameResult truncated = solved();
+        truncated.setJournal(Arrays.copyOf(truncated.getJournal(), truncated.getJournal().length - 1));
+        assertTrue(replayVerifier.check(truncated).isPresent());
+
+        GameResult invalid = solved();
+        invalid.setJournal(new byte[0]);
+        assertTrue(replayVerifier.check(invalid).isPresent());
+
+        for (int corrupt : new int[]{7 << 5 | 3, 6 << 5, 1 << 5 | 30, 0}) {
+            GameResult corrupted = solved();
+            corrupted.getJournal()[Long.BYTES] = (byte) corrupt;
+            assertEquals(Optional.of("invalid start position"), replayVerifier.check(corrupted));
+        }
+    }
+
+    @Test
+    void verifyAll() {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            results.add(i % 2 == 0 ? solved() : unsolved(i));
+        }
+        results.get(10).setSolved(!results.get(10).isSolved());
+        results.get(1_500).setSteps(results.get(1_500).getSteps() + 3);
+        results.get(2_000).setJournal(null);
+        gameResultDao.persistAll(results);
+
+        ReplayReport report = replayVerifier.verifyAll();
+        assertEquals(2_500, report.getResults());
+        assertEquals(2_497, report.getVerified());
+        assertEquals(1, report.getUnverifiable());
+        Set<Long> flagged = report.getMismatches().stream()
+                .map(ReplayReport.Mismatch::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(results.get(10).getId(), results.get(1_500).getId()), flagged);
+    }
+
+    @Test
+    void verifyAllWhenReplayFails() {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            results.add(solved());
+        }
+        gameResultDao.persistAll(results);
+        Long failing = results.get(1_200).getId();
+        ReplayVerifier failingVerifier = new ReplayVerifier(gameResultDao, 2, new SliderState()) {
+            @Override
+            public Optional<String> check(GameResult result) {
+                if (result.getId().equals(failing)) {
+                    throw new IllegalStateException();
+                }
+                return super.check(result);
+            }
+        };
+
+        ReplayReport report = failingVerifier.verifyAll();
+        assertEquals(2_500, report.getResults());
+        assertEquals(2_499, report.getVerified());
+        assertEquals(1, report.getMismatches().size());
+        assertEquals(failing, report.getMismatches().get(0).getId());
+    }
+
+    @Test
+    void verifyAllWithoutResults() {
+        ReplayReport report = replayVerifier.verifyAll();
+        assertEquals(0, report.getResults());
+        assertTrue(report.getMismatches().isEmpty());
+        assertTrue(report.getElapsed().compareTo(Duration.ZERO) >= 0);
+    }
+}
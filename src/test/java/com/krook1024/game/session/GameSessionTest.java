@@ -0,0 +1,76 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.results.GameResult;
+import com.krook1024.game.solver.Solver;
+import com.krook1024.game.state.Direction;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+    private final Clock clock = Clock.fixed(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void move() {
+        GameSession session = new GameSession("test", new SliderState(), clock);
+        assertTrue(session.move(0, Direction.UP));
+        assertEquals(1, session.getSteps());
+        assertEquals(new SliderState(), session.getState());
+        assertFalse(session.isOver());
+    }
+
+    @Test
+    void moveSolves() {
+        GameSession session = new GameSession("test", new SliderState(), clock);
+        List<Move> solution = new Solver().solve(new SliderState()).getMoves();
+        solution.forEach(session::move);
+        assertTrue(session.isSolved());
+        assertTrue(session.isOver());
+        assertFalse(session.move(0, Direction.UP));
+        assertEquals(solution.size(), session.getSteps());
+
+        GameResult result = session.finish();
+        assertEquals("test", result.getPlayer());
+        assertTrue(result.isSolved());
+        assertEquals(solution.size(), result.getSteps());
+        assertEquals(Duration.ZERO, result.getDuration());
+
+        MoveJournal.Reader reader = MoveJournal.reader(result.getJournal());
+        for (Move move : solution) {
+            assertTrue(reader.next());
+            assertEquals(move, reader.getMove());
+        }
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void giveUp() {
+        GameSession session = new GameSession("test", new SliderState(), clock);
+        session.move(0, Direction.UP);
+        session.giveUp();
+        assertTrue(session.isOver());
+        assertFalse(session.move(4, Direction.LEFT));
+
+        GameResult result = session.finish();
+        assertFalse(result.isSolved());
+        assertEquals(1, result.getSteps());
+        assertEquals(Difficulty.CLASSIC, result.getDifficulty());
+    }
+
+    @Test
+    void difficulty() {
+        SliderState generated = new SliderState();
+        new Solver().solve(new SliderState()).getMoves().get(0).applyTo(generated);
+        assertNotEquals(new SliderState(), generated);
+        assertEquals(Difficulty.EASY, new GameSession("test", generated, Difficulty.EASY, clock).finish().getDifficulty());
+        assertEquals(Difficulty.CLASSIC, new GameSession("test", new SliderState(), Difficulty.EASY, clock).getDifficulty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Direction;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveJournalTest {
+    @Test
+    void recordWithTimestamps() {
+        MoveJournal journal = new MoveJournal(true, 1000, 0);
+        journal.record(Move.of(0, Direction.UP), 1000);
+        journal.record(Move.of(4, Direction.LEFT), 1100);
+        journal.record(Move.of(2, Direction.DOWN), 1_000_000_000L);
+        assertEquals(3, journal.size());
+
+        MoveJournal.Reader reader = MoveJournal.reader(journal.toByteArray());
+        assertTrue(reader.hasTimestamps());
+        assertTrue(reader.next());
+        assertEquals(Move.of(0, Direction.UP), reader.getMove());
+        assertEquals(0, reader.getElapsedMillis());
+        assertTrue(reader.next());
+        assertEquals(Move.of(4, Direction.LEFT).getCode(), reader.getCode());
+        assertEquals(100, reader.getElapsedMillis());
+        assertTrue(reader.next());
+        assertEquals(Move.of(2, Direction.DOWN), reader.getMove());
+        assertEquals(1_000_000_000L - 1000, reader.getElapsedMillis());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void recordWithoutTimestamps() {
+        MoveJournal journal = new MoveJournal(false, 0, 0);
+        for (int i = 0; i < 100; i++) {
+            journal.record(Move.of(i % 5, Direction.RIGHT), i * 1000L);
+        }
+        byte[] bytes = journal.toByteArray();
+        assertEquals(1 + Long.BYTES + 100, bytes.length);
+
+        MoveJournal.Reader reader = MoveJournal.reader(bytes);
+        assertFalse(reader.hasTimestamps());
+        int count = 0;
+        while (reader.next()) {
+            assertEquals(Move.of(count % 5, Direction.RIGHT), reader.getMove());
+            assertEquals(0, reader.getElapsedMillis());
+            count++;
+        }
+        assertEquals(100, count);
+    }
+
+    @Test
+    void startKey() {
+        long key = Bitboard.of(new SliderState(SliderState.INITIAL)).pack();
+        MoveJournal journal = new MoveJournal(false, 0, key);
+        journal.record(Move.of(3, Direction.UP), 0);
+        MoveJournal.Reader reader = MoveJournal.reader(journal.toByteArray());
+        assertEquals(key, reader.getStartKey());
+        assertTrue(reader.next());
+        assertEquals(Move.of(3, Direction.UP), reader.getMove());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void readVersion1() {
+        MoveJournal.Reader reader = MoveJournal.reader(new byte[]{0x01, (byte) Move.of(4, Direction.DOWN).getCode()});
+        assertEquals(0, reader.getStartKey());
+        assertTrue(reader.next());
+        assertEquals(Move.of(4, Direction.DOWN), reader.getMove());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void readerRejectsInvalidJournals() {
+        assertThrows(IllegalArgumentException.class, () -> MoveJournal.reader(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> MoveJournal.reader(new byte[]{0x7F}));
+        assertThrows(IllegalArgumentException.class, () -> MoveJournal.reader(new byte[]{MoveJournal.VERSION, 0}));
+
+        MoveJournal journal = new MoveJournal(true, 0, 0);
+        journal.record(Move.of(1, Direction.UP), 1_000_000);
+        byte[] bytes = journal.toByteArray();
+        MoveJournal.Reader reader = MoveJournal.reader(Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
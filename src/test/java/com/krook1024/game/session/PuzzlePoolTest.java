@@ -0,0 +1,57 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.solver.PuzzleGenerator;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzlePoolTest {
+    private final PuzzlePool pool = new PuzzlePool(4, new SplittableRandom(42));
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private void awaitFull(Difficulty difficulty) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (pool.available(difficulty) < 4) {
+            assertTrue(System.nanoTime() < deadline, "The pool has not been filled");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void take() throws InterruptedException {
+        PuzzleGenerator generator = new PuzzleGenerator();
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (!difficulty.isGenerated()) {
+                continue;
+            }
+            awaitFull(difficulty);
+            for (int i = 0; i < 4; i++) {
+                int depth = generator.depthOf(pool.take(difficulty));
+                assertTrue(depth >= difficulty.getMinDepth() && depth <= difficulty.getMaxDepth());
+            }
+            awaitFull(difficulty);
+        }
+    }
+
+    @Test
+    void takeClassic() {
+        assertEquals(new SliderState(), pool.take(Difficulty.CLASSIC));
+        assertEquals(0, pool.available(Difficulty.CLASSIC));
+    }
+
+    @Test
+    void takeWhenEmpty() {
+        PuzzlePool closed = new PuzzlePool(4, new SplittableRandom(42));
+        closed.close();
+        SliderState state = closed.take(Difficulty.HARD);
+        assertEquals(new SliderState(), state);
+    }
+}
@@ -0,0 +1,38 @@
+package com.krook1024.game.session;
+
+import com.krook1024.game.results.GameResult;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationRunnerTest {
+    @Test
+    void play() {
+        SimulationRunner runner = new SimulationRunner(1);
+        GameResult result = runner.play(ScriptedPlayer.solving(new SliderState()), new SliderState());
+        assertEquals("solver", result.getPlayer());
+        assertTrue(result.isSolved());
+        assertEquals(2, result.getSteps());
+
+        result = runner.play(new RandomPlayer(0, 10), new SliderState(SliderState.INITIAL));
+        assertFalse(result.isSolved());
+        assertEquals(10, result.getSteps());
+    }
+
+    @Test
+    void run() {
+        Queue<GameResult> results = new ConcurrentLinkedQueue<>();
+        ScriptedPlayer solver = ScriptedPlayer.solving(new SliderState());
+        SimulationReport report = new SimulationRunner(4)
+                .run(1000, i -> i == 0 ? solver : new RandomPlayer(i, 50), results::add);
+        assertEquals(1000, report.getGames());
+        assertEquals(1000, results.size());
+        assertEquals(results.stream().filter(GameResult::isSolved).count(), report.getSolved());
+        assertEquals(results.stream().mapToLong(GameResult::getSteps).sum(), report.getSteps());
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,138 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.board.Board;
+import com.krook1024.game.board.BoardDefinition;
+import com.krook1024.game.board.BoardGeometry;
+import com.krook1024.game.state.Bitboard;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdaStarSolverTest {
+    private final BoardGeometry standard = new BoardGeometry(BoardDefinition.standard());
+
+    private static int solve(Board start, List<Move> moves) {
+        Board board = new Board(start);
+        for (Move move : moves) {
+            assertFalse(board.isSolved());
+            assertTrue(board.move(move.getTileIndex(), Move.DIRECTIONS.indexOf(move.getDirection())));
+        }
+        assertTrue(board.isSolved());
+        return moves.size();
+    }
+
+    private static int breadthFirst(Board start) {
+        Map<Long, Integer> depths = new HashMap<>();
+        Queue<Long> queue = new ArrayDeque<>();
+        depths.put(start.pack(), 0);
+        queue.add(start.pack());
+        Board board = new Board(start);
+        while (!queue.isEmpty()) {
+            long key = queue.remove();
+            board.unpack(key);
+            if (board.isSolved()) {
+                return depths.get(key);
+            }
+            for (int piece = 0; piece < board.getGeometry().pieces(); piece++) {
+                for (int d = 0; d < BoardGeometry.DIRECTIONS; d++) {
+                    if (board.move(piece, d)) {
+                        if (depths.putIfAbsent(board.pack(), depths.get(key) + 1) == null) {
+                            queue.add(board.pack());
+                        }
+                        board.move(piece, d ^ 1);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    void solveStandard() {
+        AdditivePatternDatabase heuristic = AdditivePatternDatabase.build(standard, 3);
+        assertEquals(2, heuristic.getDatabases().size());
+        List<Integer> bounds = new ArrayList<>();
+        Solution solution = new IdaStarSolver(heuristic).solve(new Board(standard), Duration.ofMinutes(1),
+                progress -> bounds.add(progress.getBound()));
+        assertTrue(solution.isSolved());
+        assertEquals(43, solve(new Board(standard), solution.getMoves()));
+        assertFalse(bounds.isEmpty());
+        assertEquals(43, bounds.get(bounds.size() - 1));
+    }
+
+    @Test
+    void estimateIsAdmissible() {
+        AdditivePatternDatabase heuristic = AdditivePatternDatabase.build(standard, 2);
+        PuzzleGenerator generator = new PuzzleGenerator();
+        Board board = new Board(standard);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 20_000; i++) {
+            board.move(random.nextInt(standard.pieces()), random.nextInt(BoardGeometry.DIRECTIONS));
+            long key = 0;
+            for (int piece = 0; piece < standard.pieces(); piece++) {
+                key |= (long) ((piece + 1) << 5 | board.getAnchor(piece)) << (8 * piece);
+            }
+            SliderState state = Bitboard.unpack(key).toSliderState();
+            assertTrue(heuristic.estimate(board) <= generator.depthOf(state));
+        }
+    }
+
+    @Test
+    void solveCustom() {
+        Board start = new Board(new BoardGeometry(BoardDefinition.parse(List.of(
+                "T...a",
+                "....a",
+                "bb...",
+                "c..dd",
+                "c....",
+                "target=T"))));
+        int expected = breadthFirst(start);
+        assertTrue(expected > 0);
+        for (int patternSize = 1; patternSize <= AdditivePatternDatabase.maxPatternSize(start.getGeometry()); patternSize++) {
+            AdditivePatternDatabase heuristic = AdditivePatternDatabase.build(start.getGeometry(), patternSize);
+            Solution solution = new IdaStarSolver(heuristic).solve(start, Duration.ofMinutes(1), progress -> { });
+            assertTrue(solution.isSolved());
+            assertEquals(expected, solve(start, solution.getMoves()));
+        }
+    }
+
+    @Test
+    void solveLarge() {
+        Board start = new Board(new BoardGeometry(BoardDefinition.load("/boards/large.board")));
+        AdditivePatternDatabase heuristic = AdditivePatternDatabase.build(start.getGeometry(),
+                AdditivePatternDatabase.maxPatternSize(start.getGeometry()));
+        Solution solution = new IdaStarSolver(heuristic).solve(start, Duration.ofMinutes(1), progress -> { });
+        assertTrue(solution.isSolved());
+        assertEquals(11, solve(start, solution.getMoves()));
+    }
+
+    @Test
+    void solveUnsolvable() {
+        Board start = new Board(new BoardGeometry(BoardDefinition.parse(List.of(
+                "TTa",
+                "TTa"))));
+        Solution solution = new IdaStarSolver(AdditivePatternDatabase.build(start.getGeometry(), 2))
+                .solve(start, Duration.ofMinutes(1), progress -> { });
+        assertFalse(solution.isSolved());
+        assertTrue(solution.getMoves().isEmpty());
+    }
+
+    @Test
+    void solveOutOfTime() {
+        Solution solution = new IdaStarSolver(AdditivePatternDatabase.build(standard, 1), 0)
+                .solve(new Board(standard), Duration.ZERO, progress -> { });
+        assertFalse(solution.isSolved());
+        assertTrue(solution.getNodesExpanded() > 0);
+    }
+}
@@ -0,0 +1,24 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelExplorerTest {
+    @Test
+    void explore() {
+        SliderState start = new SliderState(SliderState.INITIAL);
+        int expected = new StateGraphBuilder(start).build().size();
+
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            try (ParallelExplorer explorer = new ParallelExplorer(threads)) {
+                Exploration exploration = explorer.explore(start);
+                assertEquals(expected, exploration.getPositions());
+                assertEquals(expected, exploration.getFrontierSizes().stream().mapToInt(Integer::intValue).sum());
+                assertEquals(1, exploration.getFrontierSizes().get(0));
+                assertTrue(exploration.getSolvedPositions() > 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.board.Board;
+import com.krook1024.game.board.BoardDefinition;
+import com.krook1024.game.board.BoardGeometry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternDatabaseTest {
+    private final BoardGeometry standard = new BoardGeometry(BoardDefinition.standard());
+
+    @Test
+    void build() {
+        PatternDatabase database = PatternDatabase.build(standard, new int[]{standard.getTarget(), 0, 1}, true);
+        assertEquals(24 * 24 * 24, database.size());
+        assertTrue(database.isCountingTarget());
+        Board board = new Board(standard);
+        assertTrue(database.estimate(board) > 0);
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(standard, new int[]{0, 1}, true));
+    }
+
+    @Test
+    void buildBeyondMaxDistance() {
+        int[] pieces = {standard.getTarget(), 0, 1};
+        PatternDatabase full = PatternDatabase.build(standard, pieces, true);
+        PatternDatabase capped = PatternDatabase.build(standard, pieces, true, 3);
+        Board board = new Board(standard);
+        SplittableRandom random = new SplittableRandom(42);
+        boolean beyond = false;
+        for (int i = 0; i < 10_000; i++) {
+            board.move(random.nextInt(standard.pieces()), random.nextInt(4));
+            int distance = full.estimate(board);
+            beyond |= distance > 3 && distance != PatternDatabase.UNREACHABLE;
+            assertEquals(distance == PatternDatabase.UNREACHABLE ? distance : Math.min(distance, 3), capped.estimate(board));
+        }
+        assertTrue(beyond);
+    }
+
+    @Test
+    void writeAndLoad(@TempDir Path directory) throws IOException {
+        PatternDatabase database = PatternDatabase.build(standard, new int[]{standard.getTarget(), 2, 3}, false);
+        Path path = directory.resolve("pattern.bin");
+        database.writeTo(path);
+        PatternDatabase loaded = PatternDatabase.load(path, standard);
+        assertArrayEquals(database.getPieces(), loaded.getPieces());
+        assertFalse(loaded.isCountingTarget());
+
+        Board board = new Board(standard);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000; i++) {
+            board.move(random.nextInt(standard.pieces()), random.nextInt(4));
+            assertEquals(database.estimate(board), loaded.estimate(board));
+        }
+
+        BoardGeometry other = new BoardGeometry(BoardDefinition.parse(List.of("1122..", "1..2..", "3..455", "334455", "......")));
+        assertThrows(IOException.class, () -> PatternDatabase.load(path, other));
+        Files.write(path, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> PatternDatabase.load(path, standard));
+    }
+
+    @Test
+    void loadOrBuild(@TempDir Path directory) throws IOException {
+        AdditivePatternDatabase built = AdditivePatternDatabase.loadOrBuild(directory, standard, 3);
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        AdditivePatternDatabase loaded = AdditivePatternDatabase.loadOrBuild(directory, standard, 3);
+        Board board = new Board(standard);
+        assertEquals(built.estimate(board), loaded.estimate(board));
+        assertEquals(5, AdditivePatternDatabase.maxPatternSize(standard));
+    }
+}
@@ -0,0 +1,45 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleGeneratorTest {
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+
+    @Test
+    void depths() {
+        assertEquals(2, generator.depthOf(new SliderState(SliderState.NEAR_WIN)));
+        assertEquals(43, generator.depthOf(new SliderState(SliderState.INITIAL)));
+        int total = 0;
+        for (int depth = 0; depth <= generator.getMaxDepth(); depth++) {
+            assertTrue(generator.countAtDepth(depth) > 0);
+            total += generator.countAtDepth(depth);
+        }
+        assertEquals(generator.size(), total);
+        assertEquals(0, generator.countAtDepth(generator.getMaxDepth() + 1));
+    }
+
+    @Test
+    void generate() {
+        Solver solver = new Solver();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 20; i++) {
+            SliderState state = generator.generate(30, 40, random);
+            int depth = generator.depthOf(state);
+            assertTrue(depth >= 30 && depth <= 40);
+            assertEquals(depth, solver.solve(state).getMoves().size());
+        }
+    }
+
+    @Test
+    void generateOutOfRange() {
+        SplittableRandom random = new SplittableRandom(42);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(generator.getMaxDepth() + 1, 1000, random));
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(20, 10, random));
+        assertEquals(generator.getMaxDepth(), generator.depthOf(generator.generate(generator.getMaxDepth(), 1000, random)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Axis;
+import com.krook1024.game.state.Direction;
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+    private final Solver solver = new Solver();
+
+    @Test
+    void solveNearWin() {
+        Solution solution = solver.solve(new SliderState(SliderState.NEAR_WIN));
+        assertTrue(solution.isSolved());
+        assertEquals(2, solution.getMoves().size());
+    }
+
+    @Test
+    void solveInitial() {
+        SliderState state = new SliderState(SliderState.INITIAL);
+        Solution solution = solver.solve(state);
+        assertTrue(solution.isSolved());
+        assertTrue(solution.getNodesExpanded() > 0);
+        assertTrue(solution.getPeakMemoryBytes() > 0);
+
+        for (Move move : solution.getMoves()) {
+            assertFalse(state.isSolved());
+            move.applyTo(state);
+        }
+        assertTrue(state.isSolved());
+    }
+
+    @Test
+    void solveSolved() {
+        SliderState state = new SliderState(SliderState.NEAR_WIN);
+        state.stepTileWithIndex(1, Direction.LEFT, Axis.X);
+        state.stepTileWithIndex(1, Direction.LEFT, Axis.X);
+        assertTrue(state.isSolved());
+
+        Solution solution = solver.solve(state);
+        assertTrue(solution.isSolved());
+        assertTrue(solution.getMoves().isEmpty());
+    }
+}
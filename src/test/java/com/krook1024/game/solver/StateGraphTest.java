@@ -0,0 +1,77 @@
+package com.krook1024.game.solver;
+
+import com.krook1024.game.state.Move;
+import com.krook1024.game.state.SliderState;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateGraphTest {
+    static StateGraph graph;
+
+    @BeforeAll
+    static void setUp(@TempDir Path dir) throws IOException {
+        graph = StateGraph.loadOrBuild(dir.resolve("graph.bin"), new SliderState(SliderState.INITIAL));
+    }
+
+    @Test
+    void size() {
+        assertTrue(graph.size() > 1);
+        assertEquals(0, graph.idOf(graph.keyOf(0)));
+        assertEquals(-1, graph.idOf(1L));
+    }
+
+    @Test
+    void distanceToSolve() {
+        SliderState initial = new SliderState(SliderState.INITIAL);
+        assertEquals(new Solver().solve(initial).getMoves().size(), graph.distanceToSolve(initial));
+        assertEquals(2, graph.distanceToSolve(new SliderState(SliderState.NEAR_WIN)));
+    }
+
+    @Test
+    void bestMove() {
+        SliderState state = new SliderState(SliderState.INITIAL);
+        int distance = graph.distanceToSolve(state);
+        for (int i = distance; i > 0; i--) {
+            Optional<Move> move = graph.bestMove(state);
+            assertTrue(move.isPresent());
+            move.get().applyTo(state);
+            assertEquals(i - 1, graph.distanceToSolve(state));
+        }
+        assertTrue(state.isSolved());
+        assertTrue(graph.bestMove(state).isEmpty());
+    }
+
+    @Test
+    void matchesSolver() {
+        Random random = new Random(7);
+        Solver solver = new Solver();
+        for (int i = 0; i < 20; i++) {
+            int id = random.nextInt(graph.size());
+            Solution solution = solver.solve(graph.keyOf(id));
+            assertEquals(solution.isSolved() ? solution.getMoves().size() : -1, graph.distanceToSolve(id));
+        }
+    }
+
+    @Test
+    void loadOrBuildTruncated(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("truncated.bin");
+        SliderState initial = new SliderState(SliderState.INITIAL);
+        StateGraph.loadOrBuild(path, initial);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> StateGraph.load(path));
+        Files.write(path, Arrays.copyOf(bytes, 10));
+        assertThrows(IOException.class, () -> StateGraph.load(path));
+        assertEquals(graph.size(), StateGraph.loadOrBuild(path, initial).size());
+    }
+}
@@ -0,0 +1,85 @@
+package com.krook1024.game.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardTest {
+    @Test
+    void of() {
+        Bitboard board = Bitboard.of(SliderState.INITIAL);
+        assertEquals(5, board.size());
+        assertEquals(TileType.TYPE5, board.getType(4));
+        assertEquals(0b11L << Bitboard.cellOf(4, 2) | 0b11L << Bitboard.cellOf(4, 3), board.getMask(4));
+        assertEquals(16, Long.bitCount(board.getOccupancy()));
+        assertEquals(SliderState.INITIAL, board.toTiles());
+    }
+
+    @Test
+    void packAndUnpack() {
+        Bitboard board = Bitboard.of(SliderState.NEAR_WIN);
+        long key = board.pack();
+        assertEquals(5, Bitboard.packedSize(key));
+        assertEquals(board, Bitboard.unpack(key));
+        assertEquals(SliderState.NEAR_WIN, Bitboard.unpack(key).toTiles());
+        assertEquals(Bitboard.cellOf(2, 2), board.getAnchor(3));
+    }
+
+    @Test
+    void findTileIndexAtPoint() {
+        Bitboard board = Bitboard.of(SliderState.INITIAL);
+        assertEquals(0, board.findTileIndexAtPoint(0, 0));
+        assertEquals(4, board.findTileIndexAtPoint(4, 2));
+        assertEquals(-1, board.findTileIndexAtPoint(4, 0));
+        assertEquals(-1, board.findTileIndexAtPoint(-1, 0));
+        assertTrue(board.isEmptySpace(4, 0));
+        assertFalse(board.isEmptySpace(0, 0));
+    }
+
+    @Test
+    void stepTileWithIndex() {
+        Bitboard board = Bitboard.of(SliderState.INITIAL);
+        assertTrue(board.stepTileWithIndex(4, Direction.UP, Axis.Y));
+        assertEquals(new Tile(TileType.TYPE5, new Point(4, 1), new Point(5, 1), new Point(4, 2), new Point(5, 2)),
+                board.toTiles().get(4));
+
+        assertFalse(board.stepTileWithIndex(4, Direction.RIGHT, Axis.X));
+        assertFalse(board.stepTileWithIndex(0, Direction.LEFT, Axis.X));
+        assertFalse(board.stepTileWithIndex(0, Direction.DOWN, Axis.Y));
+        assertThrows(IllegalArgumentException.class, () -> board.stepTileWithIndex(30, Direction.UP, Axis.Y));
+    }
+
+    @Test
+    void stepTileWithIndexMatchesSliderState() {
+        SliderState state = new SliderState();
+        Bitboard board = Bitboard.of(state);
+        Direction[] directions = {Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN};
+        Axis[] axes = {Axis.X, Axis.X, Axis.Y, Axis.Y};
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            int tile = random.nextInt(5);
+            int d = random.nextInt(4);
+            state.stepTileWithIndex(tile, directions[d], axes[d]);
+            board.stepTileWithIndex(tile, directions[d], axes[d]);
+            assertEquals(state.getTiles(), board.toTiles());
+            assertEquals(state.isSolved(), board.isSolved());
+        }
+    }
+
+    @Test
+    void isSolved() {
+        assertFalse(Bitboard.of(SliderState.INITIAL).isSolved());
+
+        List<Tile> tiles = List.of(
+                new Tile(TileType.TYPE1, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(0, 1)),
+                new Tile(TileType.TYPE2, new Point(2, 0), new Point(3, 0), new Point(3, 1), new Point(3, 1)),
+                new Tile(TileType.TYPE3, new Point(0, 2), new Point(0, 2), new Point(0, 3), new Point(1, 3)),
+                new Tile(TileType.TYPE4, new Point(3, 2), new Point(3, 2), new Point(2, 3), new Point(3, 3)),
+                new Tile(TileType.TYPE5, new Point(1, 1), new Point(2, 1), new Point(1, 2), new Point(2, 2))
+        );
+        assertTrue(Bitboard.of(tiles).isSolved());
+    }
+}
@@ -0,0 +1,42 @@
+package com.krook1024.game.state;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+    @Test
+    void snapshot() {
+        SliderState state = new SliderState(SliderState.INITIAL);
+        Position position = state.snapshot();
+        assertEquals(position, new SliderState(SliderState.INITIAL).snapshot());
+        assertEquals(SliderState.INITIAL, position.toSliderState().getTiles());
+
+        state.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        assertNotEquals(position, state.snapshot());
+        assertEquals(SliderState.INITIAL, position.toSliderState().getTiles());
+    }
+
+    @Test
+    void withMove() {
+        Position position = Position.of(new SliderState(SliderState.INITIAL));
+        Position moved = position.withMove(4, Direction.UP, Axis.Y);
+
+        SliderState state = new SliderState(SliderState.INITIAL);
+        state.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        assertEquals(state.snapshot(), moved);
+        assertEquals(state.snapshot().hashCode(), moved.hashCode());
+        assertEquals(SliderState.INITIAL, position.toSliderState().getTiles());
+
+        assertSame(position, position.withMove(Move.of(4, Direction.RIGHT)));
+        assertEquals(position, moved.withMove(4, Direction.DOWN, Axis.Y));
+        assertThrows(IllegalArgumentException.class, () -> position.withMove(5, Direction.UP, Axis.Y));
+    }
+
+    @Test
+    void isSolved() {
+        Position position = Position.of(new SliderState(SliderState.NEAR_WIN));
+        assertFalse(position.isSolved());
+        assertTrue(position.withMove(1, Direction.LEFT, Axis.X).withMove(1, Direction.LEFT, Axis.X).isSolved());
+    }
+}
@@ -55,6 +55,50 @@ class SliderStateTest {
         Assertions.assertEquals(new Tile(TileType.TYPE5, topLeft, topRight, botLeft, botRight), state.getTiles().get(4));
 
         assertThrows(IllegalArgumentException.class, () -> state.stepTileWithIndex(30, Direction.UP, Axis.Y));
+        assertThrows(IllegalArgumentException.class, () -> state.stepTileWithIndex(5, Direction.UP, Axis.Y));
+    }
+
+    @Test
+    void cellsFollowSteps() {
+        state.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        assertEquals(4, state.findTileIndexAtPoint(5, 1));
+        assertEquals(-1, state.findTileIndexAtPoint(5, 3));
+        assertTrue(state.isEmptySpace(4, 3));
+        assertEquals(4, state.findTileIndexByTopLeftAtPoint(4, 1));
+        assertEquals(-1, state.findTileIndexByTopLeftAtPoint(4, 2));
+        assertEquals(-1, state.findTileIndexAtPoint(-1, 7));
+    }
+
+    @Test
+    void positionKey() {
+        long initial = state.getPositionKey();
+        assertEquals(Zobrist.keyOfPacked(Bitboard.of(state).pack()), initial);
+
+        state.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        assertNotEquals(initial, state.getPositionKey());
+        assertEquals(Zobrist.keyOfPacked(Bitboard.of(state).pack()), state.getPositionKey());
+
+        state.stepTileWithIndex(4, Direction.DOWN, Axis.Y);
+        assertEquals(initial, state.getPositionKey());
+    }
+
+    @Test
+    void mirroredPositionKey() {
+        List<Tile> mirrored = List.of(
+                new Tile(TileType.TYPE2, new Point(4, 0), new Point(5, 0), new Point(5, 1), new Point(5, 1)),
+                new Tile(TileType.TYPE1, new Point(2, 0), new Point(3, 0), new Point(2, 1), new Point(2, 1)),
+                new Tile(TileType.TYPE4, new Point(5, 2), new Point(5, 2), new Point(4, 3), new Point(5, 3)),
+                new Tile(TileType.TYPE3, new Point(2, 2), new Point(2, 2), new Point(2, 3), new Point(3, 3)),
+                new Tile(TileType.TYPE5, new Point(0, 2), new Point(1, 2), new Point(0, 3), new Point(1, 3))
+        );
+        SliderState mirror = new SliderState(mirrored);
+        assertEquals(state.getPositionKey(), mirror.getMirroredPositionKey());
+        assertEquals(state.getMirroredPositionKey(), mirror.getPositionKey());
+        assertEquals(state.getCanonicalPositionKey(), mirror.getCanonicalPositionKey());
+
+        state.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        mirror.stepTileWithIndex(4, Direction.UP, Axis.Y);
+        assertEquals(state.getCanonicalPositionKey(), mirror.getCanonicalPositionKey());
     }
 
     @Test
@@ -102,4 +146,17 @@ class SliderStateTest {
                         "3 3 4 4     \n",
                 state.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTiles() {
+        List<Tile> tiles = state.getTiles();
+        assertEquals(SliderState.INITIAL, tiles);
+        assertEquals(SliderState.INITIAL.size(), state.size());
+        assertThrows(UnsupportedOperationException.class, () -> tiles.set(0, tiles.get(1)));
+
+        tiles.get(4).step(Direction.UP, Axis.Y);
+        assertEquals(SliderState.INITIAL, state.getTiles());
+        assertEquals(4, state.findTileIndexAtPoint(4, 2));
+        assertTrue(state.isEmptySpace(4, 1));
+    }
+}
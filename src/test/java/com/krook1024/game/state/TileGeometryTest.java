@@ -0,0 +1,66 @@
+package com.krook1024.game.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileGeometryTest {
+    @Test
+    void directionIndex() {
+        for (int i = 0; i < Move.DIRECTIONS.size(); i++) {
+            Direction direction = Move.DIRECTIONS.get(i);
+            assertEquals(i, TileGeometry.directionIndex(direction, Move.axisOf(direction)));
+        }
+        assertEquals(-1, TileGeometry.directionIndex(Direction.NONE, Axis.X));
+    }
+
+    @Test
+    void mask() {
+        assertEquals(0b11L | 0b11L << Bitboard.WIDTH, TileGeometry.mask(TileType.TYPE5, 0));
+        assertEquals(0b10L | 0b11L << Bitboard.WIDTH, TileGeometry.mask(TileType.TYPE4, 0));
+        assertEquals(0, TileGeometry.mask(TileType.TYPE5, Bitboard.cellOf(5, 0)));
+        assertEquals(0, TileGeometry.mask(TileType.TYPE5, Bitboard.cellOf(0, 3)));
+    }
+
+    @Test
+    void target() {
+        int anchor = Bitboard.cellOf(4, 2);
+        assertEquals(0, TileGeometry.target(TileType.TYPE5, anchor, 1));
+        assertEquals(0, TileGeometry.target(TileType.TYPE5, anchor, 3));
+        assertEquals(TileGeometry.mask(TileType.TYPE5, Bitboard.cellOf(3, 2)), TileGeometry.target(TileType.TYPE5, anchor, 0));
+        assertEquals(TileGeometry.mask(TileType.TYPE5, Bitboard.cellOf(4, 1)), TileGeometry.target(TileType.TYPE5, anchor, 2));
+    }
+
+    @Test
+    void solveNeighbours() {
+        assertEquals(TileGeometry.UNSOLVABLE, TileGeometry.solveNeighbours(TileType.TYPE5, 0));
+        assertEquals(8, Long.bitCount(TileGeometry.solveNeighbours(TileType.TYPE5, Bitboard.cellOf(1, 1))));
+        int anchor = Bitboard.cellOf(1, 1);
+        long around = 0;
+        for (int[] cell : new int[][]{{1, 0}, {0, 1}, {2, 0}, {3, 1}, {2, 2}, {0, 2}, {1, 3}}) {
+            around |= 1L << Bitboard.cellOf(cell[0], cell[1]);
+        }
+        assertEquals(around, TileGeometry.solveNeighbours(TileType.TYPE1, anchor));
+    }
+
+    @Test
+    void standardTiles() {
+        assertEquals(List.of(
+                new Tile(TileType.TYPE1, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(0, 1)),
+                new Tile(TileType.TYPE2, new Point(2, 0), new Point(3, 0), new Point(3, 1), new Point(3, 1)),
+                new Tile(TileType.TYPE3, new Point(0, 2), new Point(0, 2), new Point(0, 3), new Point(1, 3)),
+                new Tile(TileType.TYPE4, new Point(3, 2), new Point(3, 2), new Point(2, 3), new Point(3, 3)),
+                new Tile(TileType.TYPE5, new Point(4, 2), new Point(5, 2), new Point(4, 3), new Point(5, 3))),
+                TileGeometry.standardTiles());
+    }
+
+    @Test
+    void isValid() {
+        assertTrue(TileGeometry.isValid(TileType.TYPE4, new Point(3, 2), new Point(3, 2), new Point(2, 3), new Point(3, 3)));
+        assertFalse(TileGeometry.isValid(TileType.TYPE3, new Point(3, 2), new Point(3, 2), new Point(2, 3), new Point(3, 3)));
+        assertFalse(TileGeometry.isValid(TileType.TYPE5, new Point(5, 2), new Point(6, 2), new Point(5, 3), new Point(6, 3)));
+        assertFalse(TileGeometry.isValid(TileType.EMPTY, new Point(0, 0), new Point(1, 0), new Point(0, 1), new Point(1, 1)));
+    }
+}
@@ -25,4 +25,13 @@ class TileTypeTest {
         assertEquals(4, TYPE4.getValue());
         assertEquals(5, TYPE5.getValue());
     }
+
+    @Test
+    void mirrored() {
+        assertEquals(TYPE2, TYPE1.mirrored());
+        assertEquals(TYPE1, TYPE2.mirrored());
+        assertEquals(TYPE4, TYPE3.mirrored());
+        assertEquals(TYPE3, TYPE4.mirrored());
+        assertEquals(TYPE5, TYPE5.mirrored());
+    }
 }
\ No newline at end of file
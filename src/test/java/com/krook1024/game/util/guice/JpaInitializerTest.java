@@ -0,0 +1,53 @@
+package com.krook1024.game.util.guice;
+
+import com.google.inject.persist.PersistService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaInitializerTest {
+    private static PersistService persistService(Runnable start) {
+        return new PersistService() {
+            @Override
+            public void start() {
+                start.run();
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+    }
+
+    private static JpaInitializer jpaInitializer(Runnable start) {
+        return new JpaInitializer(persistService(start), null, null, Set.of());
+    }
+
+    @Test
+    void awaitReady() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        JpaInitializer jpaInitializer = jpaInitializer(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertFalse(jpaInitializer.getReady().isDone());
+        release.countDown();
+        jpaInitializer.awaitReady();
+        assertTrue(jpaInitializer.getReady().isDone());
+    }
+
+    @Test
+    void awaitReadyWhenFailed() {
+        JpaInitializer jpaInitializer = jpaInitializer(() -> {
+            throw new IllegalArgumentException("no database");
+        });
+        IllegalStateException e = assertThrows(IllegalStateException.class, jpaInitializer::awaitReady);
+        assertEquals("no database", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,32 @@
+package com.krook1024.game.util.guice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceModuleTest {
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(PersistenceModule.PROFILE_PROPERTY);
+    }
+
+    @Test
+    void getProperties() {
+        Map<String, String> properties = new PersistenceModule("slidergame").getProperties();
+        assertEquals("org.hibernate.hikaricp.internal.HikariCPConnectionProvider", properties.get("hibernate.connection.provider_class"));
+        assertFalse(properties.containsKey("javax.persistence.schema-generation.scripts.action"));
+
+        properties = new PersistenceModule("slidergame", Map.of("hibernate.hikari.maximumPoolSize", "1")).getProperties();
+        assertEquals("1", properties.get("hibernate.hikari.maximumPoolSize"));
+    }
+
+    @Test
+    void getPropertiesInProduction() {
+        System.setProperty(PersistenceModule.PROFILE_PROPERTY, PersistenceModule.PRODUCTION);
+        assertEquals("none", new PersistenceModule("slidergame").getProperties()
+                .get("javax.persistence.schema-generation.scripts.action"));
+    }
+}